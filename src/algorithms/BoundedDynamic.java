@@ -0,0 +1,159 @@
+package algorithms;
+
+import model.Task;
+import util.ArrayList;
+
+import java.util.HashMap;
+
+/**
+ * 0/1 knapsack for lists with many identical tasks (same duration and
+ * productivity, e.g. from duplicate or repeated imports).
+ * Identical tasks are grouped into one item with a multiplicity k, and the
+ * group is split into bundles of 1, 2, 4, ..., 2^(p-1) copies plus a remainder.
+ * Every count 0..k is a sum of distinct bundles, so a 0/1 DP over the bundles
+ * solves the bounded problem with about log k rows per group instead of k.
+ * The chosen counts are then handed out to concrete Task instances.
+ */
+public class BoundedDynamic {
+
+    public static class BoundedResult {
+        public final ArrayList<Task> chosen;
+        public final float totalTime;
+        public final int totalValue;
+        public final int groups; // distinct (duration, productivity) pairs
+        public final int rows;   // DP rows after binary splitting
+
+        public BoundedResult(ArrayList<Task> chosen, float totalTime, int totalValue, int groups, int rows) {
+            this.chosen = chosen;
+            this.totalTime = totalTime;
+            this.totalValue = totalValue;
+            this.groups = groups;
+            this.rows = rows;
+        }
+    }
+
+    public BoundedResult solve(ArrayList<Task> tasks, float totalHours) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+
+        int n = tasks.size();
+        // Table columns are steps of the duration gcd (see TimeScale)
+        int step = TimeScale.step(tasks);
+        int capacityUnits = Task.toUnits(totalHours) / step;
+
+        // Group index per task (-1: can never be part of a solution)
+        int[] groupOf = new int[n];
+        int[] groupWeight = new int[n];
+        int[] groupValue = new int[n];
+        int[] groupCount = new int[n];
+        int groups = 0;
+        HashMap<Long, Integer> index = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Task t = tasks.get(i);
+            if (t.getDurationUnits() / step > capacityUnits || t.getProductivity() <= 0) {
+                groupOf[i] = -1;
+                continue;
+            }
+            // Duration (int) and productivity (short) pack into one long key
+            long key = ((long) t.getDurationUnits() << 16) | (t.getProductivity() & 0xFFFF);
+            Integer g = index.get(key);
+            if (g == null) {
+                g = groups++;
+                index.put(key, g);
+                groupWeight[g] = t.getDurationUnits() / step;
+                groupValue[g] = t.getProductivity();
+            }
+            groupOf[i] = g;
+            groupCount[g]++;
+        }
+
+        // Binary splitting: bundles of 1, 2, 4, ... copies, then what is left
+        int[] rowGroup = new int[n];
+        int[] rowCopies = new int[n];
+        int rows = 0;
+        for (int g = 0; g < groups; g++) {
+            int left = usableCopies(groupCount[g], groupWeight[g], capacityUnits);
+            for (int copies = 1; left > 0; copies *= 2) {
+                int bundle = Math.min(copies, left);
+                rowGroup[rows] = g;
+                rowCopies[rows] = bundle;
+                rows++;
+                left -= bundle;
+            }
+        }
+
+        int[] dp = new int[capacityUnits + 1];
+        boolean[][] take = new boolean[rows][capacityUnits + 1];
+
+        // Iterate backwards through capacity to ensure 0/1 property
+        for (int r = 0; r < rows; r++) {
+            int weight = groupWeight[rowGroup[r]] * rowCopies[r];
+            int value = groupValue[rowGroup[r]] * rowCopies[r];
+            boolean[] takeRow = take[r];
+            for (int w = capacityUnits; w >= weight; w--) {
+                int with = dp[w - weight] + value;
+                if (with > dp[w]) {
+                    dp[w] = with;
+                    takeRow[w] = true;
+                }
+            }
+        }
+
+        // Copies taken per group
+        int[] taken = new int[groups];
+        int currentW = capacityUnits;
+        for (int r = rows - 1; r >= 0; r--) {
+            if (take[r][currentW]) {
+                taken[rowGroup[r]] += rowCopies[r];
+                currentW -= groupWeight[rowGroup[r]] * rowCopies[r];
+            }
+        }
+
+        // Copies are interchangeable: hand the count out to the first ones in list order
+        ArrayList<Task> chosen = new ArrayList<>();
+        float actualTime = 0;
+        int totalValue = 0;
+        for (int i = 0; i < n; i++) {
+            int g = groupOf[i];
+            if (g >= 0 && taken[g] > 0) {
+                taken[g]--;
+                Task t = tasks.get(i);
+                chosen.add(t);
+                actualTime += t.getDuration();
+                totalValue += t.getProductivity();
+            }
+        }
+
+        return new BoundedResult(chosen, actualTime, totalValue, groups, rows);
+    }
+
+    /**
+     * DP rows BoundedDynamic would use for these tasks, without solving.
+     * Lets a caller check whether grouping pays off.
+     */
+    public static int countRows(ArrayList<Task> tasks, float totalHours) {
+        // Copies that fit don't depend on the column step, so ticks will do
+        int capacityUnits = Task.toUnits(totalHours);
+        HashMap<Long, Integer> counts = new HashMap<>();
+        HashMap<Long, Integer> weights = new HashMap<>();
+        for (Task t : tasks) {
+            if (t.getDurationUnits() > capacityUnits || t.getProductivity() <= 0) continue;
+            long key = ((long) t.getDurationUnits() << 16) | (t.getProductivity() & 0xFFFF);
+            counts.merge(key, 1, Integer::sum);
+            weights.put(key, t.getDurationUnits());
+        }
+
+        int rows = 0;
+        for (Long key : counts.keySet()) {
+            int k = usableCopies(counts.get(key), weights.get(key), capacityUnits);
+            // 1 + 2 + ... + 2^(p-1) <= k bundles, plus one for a remainder
+            int p = 32 - Integer.numberOfLeadingZeros(k + 1) - 1;
+            rows += p + (k > (1 << p) - 1 ? 1 : 0);
+        }
+        return rows;
+    }
+
+    // More copies than fit in the capacity are never taken
+    private static int usableCopies(int count, int weight, int capacityUnits) {
+        return weight == 0 ? count : Math.min(count, capacityUnits / weight);
+    }
+}
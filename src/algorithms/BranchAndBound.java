@@ -0,0 +1,222 @@
+package algorithms;
+
+import model.Task;
+import util.ArrayList;
+import util.CancellationToken;
+
+/**
+ * Depth-first branch-and-bound (Horowitz–Sahni) over the greedy ratio order.
+ * Each node first tries to take the next task, then to skip it, and is cut
+ * when its fractional bound (greedy fill of the remaining capacity plus a
+ * fraction of the first task that doesn't fit) can't beat the best solution
+ * so far. The search starts from the greedy solution as incumbent.
+ *
+ * Node and time budgets (or a cancellation token) bound the latency. When
+ * the search stops early, the best solution found is returned together with
+ * the largest bound of the subtrees not yet searched, which proves how far
+ * from optimal it can be. A listener can watch the incumbent improve.
+ */
+public class BranchAndBound {
+
+    // Nodes between two clock reads
+    private static final int CLOCK_INTERVAL = 1024;
+    // Minimum time between two improvement notifications
+    private static final long NOTIFY_INTERVAL_NS = 50_000_000L;
+
+    // Receives the incumbent while the search is still running
+    public interface ImprovementListener {
+        void onImprovement(BnBResult incumbent);
+    }
+
+    public static class BnBResult {
+        public final ArrayList<Task> chosen;
+        public final float totalTime;
+        public final int totalValue;
+        public final int upperBound; // the optimum is proven to be at most this
+        public final long nodes;
+        public final boolean complete; // search finished, so totalValue is optimal
+
+        public BnBResult(ArrayList<Task> chosen, float totalTime, int totalValue,
+                         int upperBound, long nodes, boolean complete) {
+            this.chosen = chosen;
+            this.totalTime = totalTime;
+            this.totalValue = totalValue;
+            this.upperBound = upperBound;
+            this.nodes = nodes;
+            this.complete = complete;
+        }
+
+        public int gap() {
+            return upperBound - totalValue;
+        }
+    }
+
+    // Tasks in ratio order, with prefix sums for the bound
+    private int n;
+    private int[] weight;
+    private int[] value;
+    private long[] prefixWeight;
+    private long[] prefixValue;
+
+    /**
+     * @param nodeBudget  nodes to visit before giving up, or <= 0 for no limit
+     * @param timeBudgetMs wall time before giving up, or <= 0 for no limit
+     */
+    public BnBResult solve(ArrayList<Task> tasks, float totalHours, long nodeBudget, long timeBudgetMs) {
+        return solve(tasks, totalHours, nodeBudget, timeBudgetMs, null, null);
+    }
+
+    /**
+     * Same search, also stopped by the token. Improvements are reported to the
+     * listener (at most every 50 ms, with the root bound as upperBound) on the
+     * calling thread. token and listener may be null.
+     */
+    public BnBResult solve(ArrayList<Task> tasks, float totalHours, long nodeBudget, long timeBudgetMs,
+                           CancellationToken token, ImprovementListener listener) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+
+        int capacityUnits = Task.toUnits(totalHours);
+        long deadline = timeBudgetMs > 0 ? System.nanoTime() + timeBudgetMs * 1_000_000L : Long.MAX_VALUE;
+
+        Candidates candidates = Candidates.filter(tasks, capacityUnits);
+        ArrayList<Task> items = candidates.items;
+        n = items.size();
+        int[] order = Greedy.sortByRatio(items);
+
+        weight = new int[n];
+        value = new int[n];
+        prefixWeight = new long[n + 1];
+        prefixValue = new long[n + 1];
+        for (int p = 0; p < n; p++) {
+            Task t = items.get(order[p]);
+            weight[p] = t.getDurationUnits();
+            value[p] = t.getProductivity();
+            prefixWeight[p + 1] = prefixWeight[p] + weight[p];
+            prefixValue[p + 1] = prefixValue[p] + value[p];
+        }
+
+        // Incumbent: greedy fill in ratio order
+        boolean[] best = new boolean[n];
+        long bestValue = 0;
+        int used = 0;
+        for (int p = 0; p < n; p++) {
+            if (used + weight[p] <= capacityUnits) {
+                best[p] = true;
+                used += weight[p];
+                bestValue += value[p];
+            }
+        }
+
+        // Current path: x[p] for p < depth, with the capacity left and value collected
+        boolean[] x = new boolean[n];
+        int depth = 0;
+        long room = capacityUnits;
+        long current = 0;
+        long nodes = 0;
+        boolean complete = false;
+
+        // Proven for every solution, so it can go out with each improvement
+        long rootBound = bound(0, capacityUnits);
+        boolean improved = false;
+        long lastNotify = System.nanoTime();
+
+        while (true) {
+            if (nodeBudget > 0 && nodes >= nodeBudget) break;
+            if (nodes % CLOCK_INTERVAL == 0) {
+                long now = System.nanoTime();
+                if (now > deadline || (token != null && token.shouldStop())) break;
+                if (improved && listener != null && now - lastNotify >= NOTIFY_INTERVAL_NS) {
+                    listener.onImprovement(buildResult(candidates, order, best, rootBound, nodes, false));
+                    improved = false;
+                    lastNotify = now;
+                }
+            }
+            nodes++;
+
+            if (current > bestValue) {
+                bestValue = current;
+                System.arraycopy(x, 0, best, 0, depth);
+                for (int p = depth; p < n; p++) best[p] = false;
+                improved = true;
+            }
+
+            if (depth == n || current + bound(depth, room) <= bestValue) {
+                // Backtrack to the deepest taken task and try skipping it
+                int j = depth - 1;
+                while (j >= 0 && !x[j]) j--;
+                if (j < 0) {
+                    complete = true;
+                    break;
+                }
+                x[j] = false;
+                room += weight[j];
+                current -= value[j];
+                depth = j + 1;
+                continue;
+            }
+
+            // Take the next task if it fits, otherwise the only branch is skipping it
+            x[depth] = weight[depth] <= room;
+            if (x[depth]) {
+                room -= weight[depth];
+                current += value[depth];
+            }
+            depth++;
+        }
+
+        long upperBound = bestValue;
+        if (!complete) {
+            // Open subtrees: the current node, and the skip branch of every
+            // taken task on the path, which the search hasn't reached yet
+            upperBound = Math.max(upperBound, current + bound(depth, room));
+            for (int j = depth - 1; j >= 0; j--) {
+                if (x[j]) {
+                    room += weight[j];
+                    current -= value[j];
+                    upperBound = Math.max(upperBound, current + bound(j + 1, room));
+                }
+            }
+        }
+
+        return buildResult(candidates, order, best, upperBound, nodes, complete);
+    }
+
+    // Maps the incumbent (in ratio order) back to the original list order
+    private BnBResult buildResult(Candidates candidates, int[] order, boolean[] best,
+                                  long upperBound, long nodes, boolean complete) {
+        boolean[] picked = new boolean[n];
+        for (int p = 0; p < n; p++) {
+            picked[order[p]] = best[p];
+        }
+        ArrayList<Task> chosen = candidates.chosen(picked);
+        float actualTime = 0;
+        int totalValue = 0;
+        for (Task t : chosen) {
+            actualTime += t.getDuration();
+            totalValue += t.getProductivity();
+        }
+
+        return new BnBResult(chosen, actualTime, totalValue, (int) upperBound, nodes, complete);
+    }
+
+    /**
+     * Fractional bound for tasks from..n-1 and the given capacity: the longest
+     * prefix that fits (found by binary search on the prefix sums) plus the
+     * matching fraction of the next task, rounded down.
+     */
+    private long bound(int from, long room) {
+        long limit = prefixWeight[from] + room;
+        if (prefixWeight[n] <= limit) return prefixValue[n] - prefixValue[from];
+
+        // Largest k with prefixWeight[k] <= limit
+        int lo = from;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (prefixWeight[mid] <= limit) lo = mid;
+            else hi = mid - 1;
+        }
+        long left = limit - prefixWeight[lo];
+        return prefixValue[lo] - prefixValue[from] + left * value[lo] / weight[lo];
+    }
+}
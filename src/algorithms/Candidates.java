@@ -0,0 +1,62 @@
+package algorithms;
+
+import model.Task;
+import util.ArrayList;
+
+import java.util.IdentityHashMap;
+
+/**
+ * The tasks a 0/1 solver has to look at: a task that doesn't fit in the
+ * capacity on its own or adds no value is never in an optimal set.
+ * Candidates keep their list order, so candidate k maps back to the
+ * original list by that order alone and picks come back in list order.
+ */
+final class Candidates {
+
+    final ArrayList<Task> items;
+    final int listSize;         // tasks in the original list
+    final int maxProductivity;  // of the candidates (0 if there are none)
+
+    private Candidates(ArrayList<Task> items, int listSize, int maxProductivity) {
+        this.items = items;
+        this.listSize = listSize;
+        this.maxProductivity = maxProductivity;
+    }
+
+    static Candidates filter(ArrayList<Task> tasks, int capacityUnits) {
+        ArrayList<Task> items = new ArrayList<>();
+        int maxProductivity = 0;
+        for (Task t : tasks) {
+            if (t.getDurationUnits() <= capacityUnits && t.getProductivity() > 0) {
+                items.add(t);
+                maxProductivity = Math.max(maxProductivity, t.getProductivity());
+            }
+        }
+        return new Candidates(items, tasks.size(), maxProductivity);
+    }
+
+    int size() { return items.size(); }
+
+    // Tasks filtered out
+    int dropped() { return listSize - items.size(); }
+
+    // The candidates with picked[k] set, in list order
+    ArrayList<Task> chosen(boolean[] picked) {
+        ArrayList<Task> chosen = new ArrayList<>();
+        for (int k = 0; k < items.size(); k++) {
+            if (picked[k]) chosen.add(items.get(k));
+        }
+        return chosen;
+    }
+
+    // picks (candidates, in any order) in list order
+    ArrayList<Task> inListOrder(Iterable<Task> picks) {
+        IdentityHashMap<Task, Boolean> picked = new IdentityHashMap<>();
+        for (Task t : picks) picked.put(t, Boolean.TRUE);
+        ArrayList<Task> chosen = new ArrayList<>();
+        for (Task t : items) {
+            if (picked.containsKey(t)) chosen.add(t);
+        }
+        return chosen;
+    }
+}
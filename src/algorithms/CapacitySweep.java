@@ -0,0 +1,101 @@
+package algorithms;
+
+import algorithms.Dynamic.DPResult;
+import model.Task;
+import model.TaskTable;
+import util.ArrayList;
+
+/**
+ * What-if view over one DP table.
+ * Capacities are resolved to the table's column step (see TimeScale), so
+ * any capacity between two steps has the optimum of the lower one.
+ * The last row of the table already holds the best value for every capacity
+ * from 0 up to the solved one, so answering "what if I had 6h instead of 8h"
+ * is a lookup, and the task set for that capacity is one trace-back (O(n)).
+ */
+public class CapacitySweep {
+
+    private final ArrayList<Task> tasks;
+    private final DPResult table;
+    private final long[] curve;
+
+    public CapacitySweep(ArrayList<Task> tasks, DPResult table) {
+        if (tasks == null || table == null) throw new IllegalArgumentException("Tasks and table cannot be null");
+        if (table.rows() != tasks.size() + 1) {
+            throw new IllegalArgumentException("Table has " + (table.rows() - 1) + " rows for " + tasks.size() + " tasks");
+        }
+        // Own copy of the list so later edits can't shift rows under the table
+        this.tasks = new ArrayList<>(tasks);
+        this.table = table;
+        this.curve = new long[table.columns()];
+        for (int w = 0; w < curve.length; w++) {
+            curve[w] = table.value(tasks.size(), w);
+        }
+    }
+
+    // Whether solutionAt() can still trace back through the table (see SchedulerService.sweep)
+    public boolean isCurrent() {
+        return table.isCurrent();
+    }
+
+    public float getMaxCapacity() {
+        return Task.toHours((long) (curve.length - 1) * table.ticksPerColumn);
+    }
+
+    // Length of one curve step in hours
+    public float getStepHours() {
+        return Task.toHours(table.ticksPerColumn);
+    }
+
+    /**
+     * Best value for every capacity in table steps:
+     * index u is the optimum for u × getStepHours() hours.
+     */
+    public long[] getCurve() {
+        return curve.clone();
+    }
+
+    public long valueAt(float hours) {
+        return curve[toUnits(hours)];
+    }
+
+    /**
+     * Smallest capacity (in hours) whose optimum reaches targetValue,
+     * or -1 if even the full capacity falls short.
+     * The curve never decreases, so this is a binary search.
+     */
+    public float minCapacityFor(long targetValue) {
+        if (curve[curve.length - 1] < targetValue) return -1;
+
+        int lo = 0;
+        int hi = curve.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (curve[mid] >= targetValue) hi = mid;
+            else lo = mid + 1;
+        }
+        return Task.toHours((long) lo * table.ticksPerColumn);
+    }
+
+    /**
+     * Chosen tasks and totals for the given capacity, traced back from the
+     * shared table. The returned result reads the full table.
+     * Throws IllegalStateException once the table has been rebuilt by a
+     * later solve on the same workspace (the curve stays readable).
+     */
+    public DPResult solutionAt(float hours) {
+        if (!table.isCurrent()) {
+            throw new IllegalStateException("The table behind this sweep was reused by a later run; sweep again");
+        }
+        // Columns only for this trace-back, so a held sweep keeps no extra copy
+        return Dynamic.buildResult(TaskTable.of(tasks), table.table, toUnits(hours), table.ticksPerColumn);
+    }
+
+    private int toUnits(float hours) {
+        int units = Task.toUnits(hours) / table.ticksPerColumn;
+        if (units < 0 || units >= curve.length) {
+            throw new IllegalArgumentException("Capacity " + hours + "h is outside the sweep (0-" + getMaxCapacity() + "h)");
+        }
+        return units;
+    }
+}
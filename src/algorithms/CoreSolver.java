@@ -0,0 +1,146 @@
+package algorithms;
+
+import model.Task;
+import util.ArrayList;
+
+/**
+ * Exact knapsack that only runs DP on a small "core" of tasks around the
+ * greedy break item (the first task in ratio order that no longer fits).
+ * Tasks well before the break item are fixed in, tasks well after it are
+ * fixed out, and the core in between is solved with Dynamic.
+ *
+ * The fixing is then checked with a bound: for λ = ratio of the break item,
+ *   value(x) <= λ·C + Σ max(0, v_i - λ·w_i)
+ * holds for every feasible x. Flipping an outside task j costs at least
+ * |v_j - λ·w_j| against that bound, so if every flip drops the bound below
+ * the core solution + 1, no solution that differs outside the core can beat
+ * it. Otherwise the core is doubled and solved again (in the worst case it
+ * grows to the whole list, which is plain Dynamic).
+ */
+public class CoreSolver {
+
+    // Tasks on each side of the break item in the first core
+    private static final int INITIAL_HALF_WIDTH = 16;
+
+    public static class CoreResult {
+        public final ArrayList<Task> chosen;
+        public final float totalTime;
+        public final int totalValue;
+        public final int coreSize;   // tasks in the final core
+        public final int rounds;     // core solves until the bound held
+
+        public CoreResult(ArrayList<Task> chosen, float totalTime, int totalValue, int coreSize, int rounds) {
+            this.chosen = chosen;
+            this.totalTime = totalTime;
+            this.totalValue = totalValue;
+            this.coreSize = coreSize;
+            this.rounds = rounds;
+        }
+    }
+
+    public CoreResult solve(ArrayList<Task> tasks, float totalHours) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+
+        int capacityUnits = Task.toUnits(totalHours);
+
+        Candidates candidates = Candidates.filter(tasks, capacityUnits);
+        ArrayList<Task> items = candidates.items;
+        int n = items.size();
+
+        int[] order = Greedy.sortByRatio(items);
+
+        // Break item: first task in ratio order that overflows the capacity
+        int breakPos = 0;
+        int filled = 0;
+        while (breakPos < n && filled + items.get(order[breakPos]).getDurationUnits() <= capacityUnits) {
+            filled += items.get(order[breakPos]).getDurationUnits();
+            breakPos++;
+        }
+        if (breakPos == n) {
+            // Everything fits: the greedy prefix is the optimum
+            return buildResult(candidates, order, 0, n, null, null, 1);
+        }
+
+        // Scaled bound terms (multiplied by w_b to stay in exact integer arithmetic)
+        Task breakTask = items.get(order[breakPos]);
+        long vb = breakTask.getProductivity();
+        long wb = breakTask.getDurationUnits();
+        long[] reduced = new long[n];
+        long bound = vb * capacityUnits;
+        for (int p = 0; p < n; p++) {
+            Task t = items.get(order[p]);
+            reduced[p] = t.getProductivity() * wb - vb * t.getDurationUnits();
+            if (reduced[p] > 0) bound += reduced[p];
+        }
+
+        int halfWidth = INITIAL_HALF_WIDTH;
+        int rounds = 0;
+        while (true) {
+            rounds++;
+            int from = Math.max(0, breakPos - halfWidth);
+            int to = Math.min(n, breakPos + halfWidth);
+
+            // Fixed part: every task before the core is taken
+            int fixedValue = 0;
+            int fixedUnits = 0;
+            for (int p = 0; p < from; p++) {
+                Task t = items.get(order[p]);
+                fixedValue += t.getProductivity();
+                fixedUnits += t.getDurationUnits();
+            }
+
+            ArrayList<Task> core = new ArrayList<>(to - from);
+            for (int p = from; p < to; p++) {
+                core.add(items.get(order[p]));
+            }
+            Dynamic.DPResult coreResult = new Dynamic().solve(core, Task.toHours(capacityUnits - fixedUnits));
+            long value = fixedValue + coreResult.totalValue;
+
+            boolean proven = true;
+            long limit = (value + 1) * wb;
+            for (int p = 0; p < n && proven; p++) {
+                if (p == from) {
+                    p = to - 1;
+                    continue;
+                }
+                if (bound - Math.abs(reduced[p]) >= limit) proven = false;
+            }
+
+            if (proven || (from == 0 && to == n)) {
+                return buildResult(candidates, order, from, to, core, coreResult.chosen, rounds);
+            }
+            halfWidth *= 2;
+        }
+    }
+
+    /**
+     * Chosen set = tasks before the core + the core's DP choice, listed in the
+     * original task order. A null coreChosen takes the whole core.
+     */
+    private CoreResult buildResult(Candidates candidates, int[] order, int from, int to,
+                                   ArrayList<Task> core, ArrayList<Task> coreChosen, int rounds) {
+        boolean[] picked = new boolean[candidates.size()];
+        for (int p = 0; p < from; p++) {
+            picked[order[p]] = true;
+        }
+        // Dynamic lists its choice in core order, so one pass matches them up
+        int c = 0;
+        for (int p = from; p < to; p++) {
+            if (coreChosen == null) {
+                picked[order[p]] = true;
+            } else if (c < coreChosen.size() && coreChosen.get(c) == core.get(p - from)) {
+                picked[order[p]] = true;
+                c++;
+            }
+        }
+
+        ArrayList<Task> chosen = candidates.chosen(picked);
+        float actualTime = 0;
+        int totalValue = 0;
+        for (Task t : chosen) {
+            actualTime += t.getDuration();
+            totalValue += t.getProductivity();
+        }
+        return new CoreResult(chosen, actualTime, totalValue, to - from, rounds);
+    }
+}
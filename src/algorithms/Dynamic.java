@@ -1,68 +1,582 @@
 package algorithms;
 
 import model.Task;
+import model.TaskTable;
 import util.ArrayList;
+import util.DPTable;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class Dynamic {
+
+    // Rows narrower than this are filled on the calling thread;
+    // below it the cost of forking outweighs the work per chunk.
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    // Tile of the cache-blocked fill: TILE_ROWS rows × TILE_BYTES of each row.
+    // Two rows of a tile fit in L1, the whole tile in L2.
+    private static final int TILE_ROWS = 16;
+    private static final int TILE_BYTES = 16 * 1024;
+
+    // Holds the table of the last solveIncremental() call, which the next call
+    // updates in place (see SolverWorkspace)
+    private final SolverWorkspace workspace;
+    private int reusedRows;
+
+    // Fill rows with the branch-free kernel (fillRowVector) instead of fillRow
+    private boolean vectorKernel;
+    // Fill the sequential tables tile by tile instead of row by row (see fillRows).
+    // Experimental: no gain measured yet (TiledDPBenchmark), so no service mode uses it.
+    private boolean tiled;
+    // Cell type of the last table built
+    private CellWidth cellWidth = CellWidth.INT;
+
+    public Dynamic() {
+        this(new SolverWorkspace());
+    }
+
+    public Dynamic(SolverWorkspace workspace) {
+        this.workspace = workspace;
+    }
     
+    /**
+     * Type of the dp cells. No cell exceeds the sum of the positive
+     * productivities, so the narrowest type holding that sum is safe:
+     * SHORT for most task lists (half the memory traffic of INT), LONG only
+     * when the sum would overflow an int.
+     */
+    public enum CellWidth {
+        SHORT(Short.BYTES), INT(Integer.BYTES), LONG(Long.BYTES);
+
+        public final int bytes;
+
+        CellWidth(int bytes) {
+            this.bytes = bytes;
+        }
+
+        public static CellWidth forTasks(ArrayList<Task> tasks) {
+            return forTasks(TaskTable.of(tasks));
+        }
+
+        public static CellWidth forTasks(TaskTable tasks) {
+            long sum = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                if (tasks.productivity(i) > 0) sum += tasks.productivity(i);
+            }
+            if (sum <= Short.MAX_VALUE) return SHORT;
+            return sum <= Integer.MAX_VALUE ? INT : LONG;
+        }
+
+        // A short[][], int[][] or long[][] with room for 'rows' rows, none allocated yet
+        Object[] newRows(int rows) {
+            return switch (this) {
+                case SHORT -> new short[rows][];
+                case INT -> new int[rows][];
+                case LONG -> new long[rows][];
+            };
+        }
+
+        Object newRow(int columns) {
+            return switch (this) {
+                case SHORT -> new short[columns];
+                case INT -> new int[columns];
+                case LONG -> new long[columns];
+            };
+        }
+
+        Object[] newTable(int rows, int columns) {
+            Object[] table = newRows(rows);
+            for (int i = 0; i < rows; i++) {
+                table[i] = newRow(columns);
+            }
+            return table;
+        }
+    }
+
     public static class DPResult {
-        public final int[][] dp;
-        public final boolean[][] take;
+        public final DPTable table;
         public final ArrayList<Task> chosen;
         public final float totalTime;
-        public final int totalValue;
+        public final long totalValue;
+        public final int ticksPerColumn; // column w of the table is w × ticksPerColumn ticks
 
-        public DPResult(int[][] dp, boolean[][] take, ArrayList<Task> chosen, float totalTime, int totalValue) {
-            this.dp = dp;
-            this.take = take;
+        public DPResult(DPTable table, ArrayList<Task> chosen, float totalTime, long totalValue, int ticksPerColumn) {
+            this.table = table;
             this.chosen = chosen;
             this.totalTime = totalTime;
             this.totalValue = totalValue;
+            this.ticksPerColumn = ticksPerColumn;
         }
+
+        public int rows() { return table.rows(); }
+        public int columns() { return table.columns(); }
+        public long value(int row, int column) { return table.value(row, column); }
+        public boolean taken(int row, int column) { return table.taken(row, column); }
+        // False once a later solve has reused the table's memory
+        public boolean isCurrent() { return table.isCurrent(); }
+
+        // Releases an off-heap table; the result must not be read afterwards
+        public void close() { table.close(); }
     }
 
     public DPResult solve(ArrayList<Task> tasks, float totalHours) {
         if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+        return solve(workspace.taskTable(tasks), totalHours);
+    }
+
+    // solve() over the columns of an already synced TaskTable
+    public DPResult solve(TaskTable tasks, float totalHours) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
 
         int n = tasks.size();
         
-        // Since durations are in 0.5 increments, we scale everything by 2.
-        // 1.5 hours becomes 3 units. Total capacity is scaled similarly.
-        int capacityUnits = (int) Math.round(totalHours * 2);
+        // Columns are steps of the duration gcd (see TimeScale): with half-hour
+        // durations 1.5 hours becomes 3 units. Total capacity is scaled similarly.
+        int step = TimeScale.step(tasks);
+        int capacityUnits = Task.toUnits(totalHours) / step;
+        cellWidth = CellWidth.forTasks(tasks);
         
         // dp[i][w] stores the max productivity using the first 'i' items with capacity 'w'.
-        int[][] dp = new int[n + 1][capacityUnits + 1];
+        // Rows are short[], int[] or long[] depending on cellWidth.
+        Object[] dp = cellWidth.newTable(n + 1, capacityUnits + 1);
         
         // The 'take' table allows us to reconstruct the solution later.
-        // If take[i][w] is true, it means item 'i' was included in the optimal solution for capacity 'w'.
-        boolean[][] take = new boolean[n + 1][capacityUnits + 1];
-        
+        // If bit (i, w) is set, item 'i' was included in the optimal solution for capacity 'w'.
+        TakeBits take = new TakeBits(n + 1, capacityUnits + 1);
+
+        int[] weights = new int[n];
+        short[] values = new short[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = tasks.durationUnits(i) / step;
+            values[i] = (short) tasks.productivity(i);
+        }
+        fillRows(dp, take, weights, values, 1, n, capacityUnits + 1);
+
+        return buildResult(tasks, new HeapTable(dp, cellWidth, take), capacityUnits, step);
+    }
+
+    /**
+     * Same recurrence as solve(), but each row's capacity range is split into
+     * chunks on the common ForkJoinPool. Row i only reads row i-1, so chunks
+     * within a row are independent; rows are still processed in order.
+     * Produces a DPResult identical to solve().
+     */
+    public DPResult solveParallel(ArrayList<Task> tasks, float totalHours) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+        return solveParallel(workspace.taskTable(tasks), totalHours);
+    }
+
+    public DPResult solveParallel(TaskTable tasks, float totalHours) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+
+        int n = tasks.size();
+        int step = TimeScale.step(tasks);
+        int capacityUnits = Task.toUnits(totalHours) / step;
+        cellWidth = CellWidth.forTasks(tasks);
+
+        Object[] dp = cellWidth.newTable(n + 1, capacityUnits + 1);
+        TakeBits take = new TakeBits(n + 1, capacityUnits + 1);
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
         for (int i = 1; i <= n; i++) {
-            Task task = tasks.get(i - 1);
-            int weight = task.getDurationUnits(); 
-            int value = task.getProductivity();
-            
-            for (int w = 0; w <= capacityUnits; w++) {
-                // Don't include the current task. Value is same as previous row.
-                int valueWithout = dp[i - 1][w];
-                
-                // Include the current task (only if it fits).
-                // Value is current task's value + best value achievable with remaining capacity.
-                int valueWith = -1;
-                if (weight <= w) {
-                    valueWith = value + dp[i - 1][w - weight];
+            RowChunk row = new RowChunk(cellWidth, vectorKernel, dp[i - 1], dp[i], take.words, take.rowOffset(i),
+                tasks.durationUnits(i - 1) / step, tasks.productivity(i - 1), 0, capacityUnits + 1);
+            if (capacityUnits + 1 <= PARALLEL_THRESHOLD) {
+                row.compute();
+            } else {
+                pool.invoke(row);
+            }
+        }
+
+        return buildResult(tasks, new HeapTable(dp, cellWidth, take), capacityUnits, step);
+    }
+
+    /**
+     * Same result as solve(), but reuses the rows of the previous call up to the
+     * first task whose duration or productivity changed. Appending a task only
+     * builds one new row; editing task k rebuilds rows k..n.
+     * A change of capacity or of cell width rebuilds everything.
+     * Tasks synced from the same TaskList version as last time are known to be
+     * unchanged, so every row is reused without comparing them.
+     *
+     * The table lives in the workspace and is rebuilt in place, so once the
+     * workspace has grown to fit, a call allocates only its result; the
+     * returned DPResult is valid until the next call (isCurrent() turns false).
+     */
+    public DPResult solveIncremental(ArrayList<Task> tasks, float totalHours, boolean parallel) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+        return solveIncremental(workspace.taskTable(tasks), totalHours, parallel);
+    }
+
+    public DPResult solveIncremental(TaskTable tasks, float totalHours, boolean parallel) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+
+        int n = tasks.size();
+        int step = TimeScale.step(tasks);
+        int capacityUnits = Task.toUnits(totalHours) / step;
+        int columns = capacityUnits + 1;
+        cellWidth = CellWidth.forTasks(tasks);
+        boolean sameShape = workspace.tableRows > 0 && capacityUnits == workspace.tableCapacity
+            && cellWidth == workspace.tableWidth;
+
+        workspace.invalidateTable();
+        Object[] dp = workspace.dpRows(cellWidth, n + 1, columns);
+        long[] words = workspace.takeWords(TakeBits.wordsFor(n + 1, columns));
+        int[] weights = workspace.rowWeights(n);
+        short[] values = workspace.rowValues(n);
+        TakeBits take = new TakeBits(words, n + 1, columns);
+
+        // Find the first row whose task differs from the cached one
+        int reuse = 0;
+        boolean sameVersion = tasks.version() != TaskTable.UNVERSIONED && tasks.version() == workspace.tableVersion;
+        if (sameShape && sameVersion && workspace.tableRows == n + 1) {
+            reuse = n;
+        } else if (sameShape) {
+            int limit = Math.min(n, workspace.tableRows - 1);
+            while (reuse < limit) {
+                if (tasks.durationUnits(reuse) / step != weights[reuse]
+                        || tasks.productivity(reuse) != values[reuse]) {
+                    break;
                 }
-                
-                // Decision: Maximize productivity
-                if (valueWith > valueWithout) {
-                    dp[i][w] = valueWith;
-                    take[i][w] = true;
-                } else {
-                    dp[i][w] = valueWithout;
-                    take[i][w] = false;
+                reuse++;
+            }
+        } else {
+            clearRow(dp[0], columns);
+            Arrays.fill(words, 0, take.rowOffset(1), 0L);
+        }
+        // The kernels only set take bits
+        Arrays.fill(words, take.rowOffset(reuse + 1), take.rowOffset(n + 1), 0L);
+
+        for (int i = reuse; i < n; i++) {
+            weights[i] = tasks.durationUnits(i) / step;
+            values[i] = (short) tasks.productivity(i);
+        }
+
+        if (!parallel || columns <= PARALLEL_THRESHOLD) {
+            fillRows(dp, take, weights, values, reuse + 1, n, columns);
+        } else {
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            for (int i = reuse + 1; i <= n; i++) {
+                pool.invoke(new RowChunk(cellWidth, vectorKernel, dp[i - 1], dp[i], words, take.rowOffset(i),
+                    weights[i - 1], values[i - 1], 0, columns));
+            }
+        }
+
+        workspace.tableRows = n + 1;
+        workspace.tableCapacity = capacityUnits;
+        workspace.tableWidth = cellWidth;
+        workspace.tableVersion = tasks.version();
+        reusedRows = reuse;
+
+        return buildResult(tasks, new HeapTable(dp, cellWidth, take, workspace), capacityUnits, step);
+    }
+
+    /**
+     * Same result as solve(), with the table outside the Java heap (see
+     * OffHeapTable). Rows are computed in two heap buffers and copied out,
+     * so the heap only ever holds O(capacity) (and tiling does not apply).
+     * With fileBacked the table is a memory-mapped temporary file in spillDir
+     * (null: the default temp dir). The caller must close() the result to
+     * free the table.
+     */
+    public DPResult solveOffHeap(ArrayList<Task> tasks, float totalHours, boolean parallel,
+                                 boolean fileBacked, Path spillDir) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+        return solveOffHeap(workspace.taskTable(tasks), totalHours, parallel, fileBacked, spillDir);
+    }
+
+    public DPResult solveOffHeap(TaskTable tasks, float totalHours, boolean parallel,
+                                 boolean fileBacked, Path spillDir) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+
+        int n = tasks.size();
+        int step = TimeScale.step(tasks);
+        int capacityUnits = Task.toUnits(totalHours) / step;
+        int columns = capacityUnits + 1;
+        cellWidth = CellWidth.forTasks(tasks);
+
+        OffHeapTable table = fileBacked
+            ? OffHeapTable.mapped(n + 1, columns, cellWidth, spillDir)
+            : OffHeapTable.allocate(n + 1, columns, cellWidth);
+
+        Object prev = cellWidth.newRow(columns);
+        Object cur = cellWidth.newRow(columns);
+        long[] takeRow = new long[TakeBits.strideFor(columns)];
+        table.writeRow(0, prev, takeRow);
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        for (int i = 1; i <= n; i++) {
+            // The kernels only set bits
+            Arrays.fill(takeRow, 0L);
+            RowChunk row = new RowChunk(cellWidth, vectorKernel, prev, cur, takeRow, 0,
+                tasks.durationUnits(i - 1) / step, tasks.productivity(i - 1), 0, columns);
+            if (!parallel || columns <= PARALLEL_THRESHOLD) {
+                row.compute();
+            } else {
+                pool.invoke(row);
+            }
+            table.writeRow(i, cur, takeRow);
+
+            Object swap = prev;
+            prev = cur;
+            cur = swap;
+        }
+
+        return buildResult(tasks, table, capacityUnits, step);
+    }
+
+    /**
+     * Memory of a rows × columns table: one cell of the given width per dp
+     * cell plus the take bits, rounded up to whole words per row.
+     */
+    public static long tableBytes(int rows, int columns, CellWidth width) {
+        return (long) rows * columns * width.bytes + (long) rows * TakeBits.strideFor(columns) * Long.BYTES;
+    }
+
+    // Number of task rows the last solveIncremental() call took from its cache
+    public int getReusedRows() { return reusedRows; }
+
+    public SolverWorkspace getWorkspace() { return workspace; }
+
+    // Cell type the last solve picked (see CellWidth.forTasks)
+    public CellWidth getCellWidth() { return cellWidth; }
+
+    public boolean isVectorKernel() { return vectorKernel; }
+    public void setVectorKernel(boolean vectorKernel) { this.vectorKernel = vectorKernel; }
+    public boolean isTiled() { return tiled; }
+    public void setTiled(boolean tiled) { this.tiled = tiled; }
+
+    /**
+     * Fills rows first..last of dp on the calling thread; weights and values
+     * hold the task of each row (row i is index i - 1).
+     *
+     * Row by row, every row streams all of prev from memory once the rows
+     * outgrow the cache. Tiled, a strip of TILE_ROWS rows is filled one
+     * column block at a time: a cell only reads prev at columns <= its own,
+     * which the left-to-right block order has already finished, so the table
+     * is identical, while prev[w] and (for durations up to a block)
+     * prev[w - weight] are still in cache from the row above.
+     */
+    private void fillRows(Object[] dp, TakeBits take, int[] weights, short[] values,
+                          int first, int last, int columns) {
+        int tileRows = tiled ? TILE_ROWS : 1;
+        int tileColumns = tiled ? TILE_BYTES / cellWidth.bytes : columns;
+
+        for (int top = first; top <= last; top += tileRows) {
+            int bottom = Math.min(last, top + tileRows - 1);
+            for (int from = 0; from < columns; from += tileColumns) {
+                int to = Math.min(columns, from + tileColumns);
+                for (int i = top; i <= bottom; i++) {
+                    fillRange(cellWidth, vectorKernel, dp[i - 1], dp[i], take.words, take.rowOffset(i),
+                        weights[i - 1], values[i - 1], from, to);
                 }
             }
         }
+    }
+
+    // Zeroes the first 'columns' cells of a row of any width
+    private static void clearRow(Object row, int columns) {
+        if (row instanceof short[] r) Arrays.fill(r, 0, columns, (short) 0);
+        else if (row instanceof int[] r) Arrays.fill(r, 0, columns, 0);
+        else Arrays.fill((long[]) row, 0, columns, 0L);
+    }
+
+    // Runs the selected kernel for rows of the given width over [from, to)
+    private static void fillRange(CellWidth width, boolean vector, Object prev, Object cur,
+                                  long[] take, int offset, int weight, int value, int from, int to) {
+        switch (width) {
+            case SHORT -> {
+                if (vector) fillRowVector((short[]) prev, (short[]) cur, take, offset, weight, value, from, to);
+                else fillRow((short[]) prev, (short[]) cur, take, offset, weight, value, from, to);
+            }
+            case INT -> {
+                if (vector) fillRowVector((int[]) prev, (int[]) cur, take, offset, weight, value, from, to);
+                else fillRow((int[]) prev, (int[]) cur, take, offset, weight, value, from, to);
+            }
+            case LONG -> {
+                if (vector) fillRowVector((long[]) prev, (long[]) cur, take, offset, weight, value, from, to);
+                else fillRow((long[]) prev, (long[]) cur, take, offset, weight, value, from, to);
+            }
+        }
+    }
+
+    /**
+     * Fills cur[from..to) from prev for a single task.
+     * Bit w of the row starting at take[offset] records whether the task was
+     * included at capacity w; the row's bits must be clear on entry.
+     */
+    private static void fillRow(int[] prev, int[] cur, long[] take, int offset,
+                                int weight, int value, int from, int to) {
+        for (int w = from; w < to; w++) {
+            // Don't include the current task. Value is same as previous row.
+            int valueWithout = prev[w];
+
+            // Include the current task (only if it fits).
+            // Value is current task's value + best value achievable with remaining capacity.
+            int valueWith = -1;
+            if (weight <= w) {
+                valueWith = value + prev[w - weight];
+            }
+
+            // Decision: Maximize productivity
+            if (valueWith > valueWithout) {
+                cur[w] = valueWith;
+                take[offset + (w >>> 6)] |= 1L << w;
+            } else {
+                cur[w] = valueWithout;
+            }
+        }
+    }
+
+    // fillRow over short cells; sums are taken in int and always fit back (see CellWidth)
+    private static void fillRow(short[] prev, short[] cur, long[] take, int offset,
+                                int weight, int value, int from, int to) {
+        for (int w = from; w < to; w++) {
+            int valueWith = weight <= w ? value + prev[w - weight] : -1;
+            if (valueWith > prev[w]) {
+                cur[w] = (short) valueWith;
+                take[offset + (w >>> 6)] |= 1L << w;
+            } else {
+                cur[w] = prev[w];
+            }
+        }
+    }
+
+    private static void fillRow(long[] prev, long[] cur, long[] take, int offset,
+                                int weight, int value, int from, int to) {
+        for (int w = from; w < to; w++) {
+            long valueWith = weight <= w ? value + prev[w - weight] : -1;
+            if (valueWith > prev[w]) {
+                cur[w] = valueWith;
+                take[offset + (w >>> 6)] |= 1L << w;
+            } else {
+                cur[w] = prev[w];
+            }
+        }
+    }
+
+    /**
+     * Branch-free version of fillRow with identical output.
+     * The max pass reads prev and writes cur with no dependency between
+     * columns, so HotSpot's superword optimization can compile it to SIMD
+     * max instructions. The take bits are then gathered 64 columns at a time
+     * in a register and each word is stored once.
+     */
+    private static void fillRowVector(int[] prev, int[] cur, long[] take, int offset,
+                                      int weight, int value, int from, int to) {
+        // Capacities below the task's duration can only copy the previous row
+        int fits = Math.max(from, Math.min(weight, to));
+        System.arraycopy(prev, from, cur, from, fits - from);
+
+        for (int w = fits; w < to; w++) {
+            cur[w] = Math.max(prev[w], prev[w - weight] + value);
+        }
+
+        // The task was taken exactly where it raised the value; cur >= prev,
+        // so the sign bit of prev - cur is that decision
+        for (int w = fits; w < to; ) {
+            int end = Math.min(to, (w | 63) + 1);
+            long bits = 0;
+            for (; w < end; w++) {
+                bits |= (long) ((prev[w] - cur[w]) >>> 31) << w;
+            }
+            take[offset + ((end - 1) >>> 6)] |= bits;
+        }
+    }
+
+    private static void fillRowVector(short[] prev, short[] cur, long[] take, int offset,
+                                      int weight, int value, int from, int to) {
+        int fits = Math.max(from, Math.min(weight, to));
+        System.arraycopy(prev, from, cur, from, fits - from);
+
+        for (int w = fits; w < to; w++) {
+            cur[w] = (short) Math.max(prev[w], prev[w - weight] + value);
+        }
+        for (int w = fits; w < to; ) {
+            int end = Math.min(to, (w | 63) + 1);
+            long bits = 0;
+            for (; w < end; w++) {
+                bits |= (long) ((prev[w] - cur[w]) >>> 31) << w;
+            }
+            take[offset + ((end - 1) >>> 6)] |= bits;
+        }
+    }
+
+    private static void fillRowVector(long[] prev, long[] cur, long[] take, int offset,
+                                      int weight, int value, int from, int to) {
+        int fits = Math.max(from, Math.min(weight, to));
+        System.arraycopy(prev, from, cur, from, fits - from);
+
+        for (int w = fits; w < to; w++) {
+            cur[w] = Math.max(prev[w], prev[w - weight] + value);
+        }
+        for (int w = fits; w < to; ) {
+            int end = Math.min(to, (w | 63) + 1);
+            long bits = 0;
+            for (; w < end; w++) {
+                bits |= ((prev[w] - cur[w]) >>> 63) << w;
+            }
+            take[offset + ((end - 1) >>> 6)] |= bits;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class RowChunk extends RecursiveAction {
+        private final CellWidth width;
+        private final boolean vector;
+        private final Object prev;
+        private final Object cur;
+        private final long[] take;
+        private final int offset;
+        private final int weight;
+        private final int value;
+        private final int from;
+        private final int to;
+
+        RowChunk(CellWidth width, boolean vector, Object prev, Object cur, long[] take, int offset,
+                 int weight, int value, int from, int to) {
+            this.width = width;
+            this.vector = vector;
+            this.prev = prev;
+            this.cur = cur;
+            this.take = take;
+            this.offset = offset;
+            this.weight = weight;
+            this.value = value;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                fillRange(width, vector, prev, cur, take, offset, weight, value, from, to);
+                return;
+            }
+            // Split on a word boundary so no two chunks write the same take word
+            int mid = ((from + to) >>> 1) & ~63;
+            invokeAll(
+                new RowChunk(width, vector, prev, cur, take, offset, weight, value, from, mid),
+                new RowChunk(width, vector, prev, cur, take, offset, weight, value, mid, to)
+            );
+        }
+    }
+
+    /**
+     * Solves once for maxHours and returns every capacity's optimum from that
+     * single table. See CapacitySweep.
+     */
+    public CapacitySweep sweep(ArrayList<Task> tasks, float maxHours) {
+        return new CapacitySweep(tasks, solve(tasks, maxHours));
+    }
+
+    // Trace-back for any capacity covered by the table, not just the last column
+    // (capacityUnits and the table's columns are steps of 'step' ticks)
+    static DPResult buildResult(TaskTable tasks, DPTable table, int capacityUnits, int step) {
+        int n = tasks.size();
 
         // Trace back through the 'take' table to find which tasks were actually chosen.
         ArrayList<Task> chosen = new ArrayList<>();
@@ -70,17 +584,16 @@ public class Dynamic {
         int currentCapacity = capacityUnits;
         
         for (int i = n; i > 0; i--) {
-            if (take[i][currentCapacity]) {
-                Task task = tasks.get(i - 1);
-                chosen.add(task);
-                actualTime += task.getDuration();
-                currentCapacity -= task.getDurationUnits();
+            if (table.taken(i, currentCapacity)) {
+                chosen.add(tasks.task(i - 1));
+                actualTime += tasks.duration(i - 1);
+                currentCapacity -= tasks.durationUnits(i - 1) / step;
             }
         }
 
         // We reverse to match natural reading order.
         chosen.reverse();
         
-        return new DPResult(dp, take, chosen, actualTime, dp[n][capacityUnits]);
+        return new DPResult(table, chosen, actualTime, table.value(n, capacityUnits), step);
     }
 }
\ No newline at end of file
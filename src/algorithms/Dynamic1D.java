@@ -1,10 +1,11 @@
 package algorithms;
 
 import model.Task;
+import model.TaskTable;
 import util.ArrayList;
 
-public class Dynamic {
-    
+public class Dynamic1D {
+
     public static class DPResult {
         public final int[] dp;
         public final ArrayList<Task> chosen;
@@ -19,77 +20,105 @@ public class Dynamic {
         }
     }
 
+    // Ticks per dp column for the current solve (see TimeScale)
+    private int step;
+
     public DPResult solve(ArrayList<Task> tasks, float totalHours) {
         if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+        return solve(TaskTable.of(tasks), totalHours);
+    }
+
+    // solve() over the columns of an already synced TaskTable
+    public DPResult solve(TaskTable tasks, float totalHours) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
 
         int n = tasks.size();
         if (n == 0) {
             return new DPResult(new int[1], new ArrayList<>(), 0, 0);
         }
-        
-        int capacityUnits = (int) Math.round(totalHours * 2);
-        
+
+        step = TimeScale.step(tasks);
+        int capacityUnits = Task.toUnits(totalHours) / step;
+
         // Single 1D array - O(W) space instead of O(n×W)
         int[] dp = new int[capacityUnits + 1];
-        
-        // Track which item was last added at each capacity - O(W) space
-        int[] lastItemAt = new int[capacityUnits + 1];
-        for (int i = 0; i <= capacityUnits; i++) {
-            lastItemAt[i] = -1;
-        }
-        
-        // Build DP - iterate backwards through capacity to ensure 0/1 property
-        for (int i = 0; i < n; i++) {
-            Task task = tasks.get(i);
-            int weight = task.getDurationUnits();
-            int value = task.getProductivity();
-            
-            for (int w = capacityUnits; w >= weight; w--) {
-                int newValue = dp[w - weight] + value;
-                if (newValue > dp[w]) {
-                    dp[w] = newValue;
-                    lastItemAt[w] = i;
-                }
-            }
-        }
-        
-        // Reconstruct: check each item's contribution
+        advance(tasks, 0, n, capacityUnits, dp);
+
+        // Reconstruct by divide and conquer instead of a take table.
+        // One checkpoint row is kept per recursion level, so memory is
+        // O(W log n) rather than O(n×W).
+        int levels = 1;
+        while ((1 << (levels - 1)) < n) levels++;
+        int[][] checkpoints = new int[levels + 1][];
+        checkpoints[0] = new int[capacityUnits + 1];
+
         ArrayList<Task> chosen = new ArrayList<>();
+        traceBack(tasks, 0, n, capacityUnits, checkpoints, 0, chosen);
+
         float actualTime = 0;
-        int remainingCapacity = capacityUnits;
-        int remainingValue = dp[capacityUnits];
-        
-        // Iterate backwards, checking if each item contributes to optimal
-        for (int i = n - 1; i >= 0 && remainingValue > 0; i--) {
-            Task task = tasks.get(i);
-            int weight = task.getDurationUnits();
-            int value = task.getProductivity();
-            
-            if (remainingCapacity >= weight && lastItemAt[remainingCapacity] == i) {
-                chosen.add(task);
-                actualTime += task.getDuration();
-                remainingCapacity -= weight;
-                remainingValue -= value;
-            }
+        for (Task task : chosen) {
+            actualTime += task.getDuration();
         }
-        
+
+        // Trace-back visits tasks last to first; reverse to match natural reading order.
         chosen.reverse();
-        
+
         return new DPResult(dp, chosen, actualTime, dp[capacityUnits]);
     }
-}        
-        for (int i = n; i > 0; i--) {
-            if (take[i][currentCapacity]) {
-                Task task = tasks.get(i - 1);
-                chosen.add(task);
-                actualTime += task.getDuration();
-                currentCapacity -= task.getDurationUnits();
+
+    /**
+     * Replays Dynamic's trace-back for rows (lo, hi], starting at row 'hi' with
+     * the given capacity, and returns the capacity left at row 'lo'.
+     * checkpoints[depth] holds DP row 'lo' (for capacities 0..capacity).
+     * The row at 'mid' is rebuilt from it, the upper half is traced first,
+     * and the lower half then continues from the capacity it reached.
+     * Chosen tasks are appended last to first, exactly as Dynamic picks them.
+     */
+    private int traceBack(TaskTable tasks, int lo, int hi, int capacity,
+                          int[][] checkpoints, int depth, ArrayList<Task> chosen) {
+        int[] base = checkpoints[depth];
+
+        if (hi - lo == 1) {
+            int weight = tasks.durationUnits(lo) / step;
+            // Same decision as Dynamic: include only if it strictly improves on skipping
+            if (weight <= capacity && base[capacity - weight] + tasks.productivity(lo) > base[capacity]) {
+                chosen.add(tasks.task(lo));
+                return capacity - weight;
             }
+            return capacity;
         }
 
-        // We reverse to match natural reading order.
-        chosen.reverse();
-        
-        return new DPResult(dp, take, chosen, actualTime, dp[n][capacityUnits]);
+        int mid = (lo + hi) >>> 1;
+
+        // Rebuild row 'mid' from row 'lo' into the next level's checkpoint
+        int[] row = checkpoints[depth + 1];
+        if (row == null || row.length < capacity + 1) {
+            row = new int[capacity + 1];
+            checkpoints[depth + 1] = row;
+        }
+        System.arraycopy(base, 0, row, 0, capacity + 1);
+        advance(tasks, lo, mid, capacity, row);
+
+        int capacityAtMid = traceBack(tasks, mid, hi, capacity, checkpoints, depth + 1, chosen);
+        return traceBack(tasks, lo, mid, capacityAtMid, checkpoints, depth, chosen);
+    }
+
+    /**
+     * Applies tasks[lo, hi) to dp in place, for capacities 0..capacity.
+     */
+    private void advance(TaskTable tasks, int lo, int hi, int capacity, int[] dp) {
+        for (int i = lo; i < hi; i++) {
+            int weight = tasks.durationUnits(i) / step;
+            int value = tasks.productivity(i);
+            if (weight > capacity) continue;
+
+            // Iterate backwards through capacity to ensure 0/1 property
+            for (int w = capacity; w >= weight; w--) {
+                int newValue = dp[w - weight] + value;
+                if (newValue > dp[w]) {
+                    dp[w] = newValue;
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
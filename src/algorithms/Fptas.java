@@ -0,0 +1,109 @@
+package algorithms;
+
+import model.Task;
+import util.ArrayList;
+
+/**
+ * Approximation scheme with a user-chosen error bound ε.
+ * Productivities are divided by K = ε·LB/n and rounded down, where LB is a
+ * lower bound on the optimum (best of Greedy and the single most valuable
+ * task). The rounded problem is solved exactly with a value-indexed DP whose
+ * width is about 2n/ε, independent of capacity and of the raw scores.
+ * Rounding loses less than K per task, so the result is at least
+ * OPT - n·K >= (1 - ε)·OPT.
+ */
+public class Fptas {
+
+    public static class FptasResult {
+        public final ArrayList<Task> chosen;
+        public final float totalTime;
+        public final int totalValue;
+        public final double epsilon;
+        public final int upperBound; // the optimum is proven to be at most this
+
+        public FptasResult(ArrayList<Task> chosen, float totalTime, int totalValue,
+                           double epsilon, int upperBound) {
+            this.chosen = chosen;
+            this.totalTime = totalTime;
+            this.totalValue = totalValue;
+            this.epsilon = epsilon;
+            this.upperBound = upperBound;
+        }
+    }
+
+    public FptasResult solve(ArrayList<Task> tasks, float totalHours, double epsilon) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+        if (!(epsilon > 0 && epsilon < 1)) throw new IllegalArgumentException("Epsilon must be between 0 and 1");
+
+        int capacityUnits = Task.toUnits(totalHours);
+
+        Candidates candidates = Candidates.filter(tasks, capacityUnits);
+        ArrayList<Task> items = candidates.items;
+        int n = items.size();
+        if (n == 0) {
+            return new FptasResult(new ArrayList<>(), 0, 0, epsilon, 0);
+        }
+
+        int lowerBound = Math.max(candidates.maxProductivity, new Greedy().solve(items, totalHours).totalValue);
+
+        // Scores are integers, so a factor below 1 would only blow up the table:
+        // in that case the DP runs on the raw scores and is exact.
+        double scale = Math.max(1.0, epsilon * lowerBound / n);
+
+        int[] scaled = new int[n];
+        int scaledSum = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = (int) (items.get(i).getProductivity() / scale);
+            scaledSum += scaled[i];
+        }
+        // OPT <= 2·LB, so no reachable scaled value lies above 2·LB / K
+        int maxValue = (int) Math.min(scaledSum, Math.floor(2.0 * lowerBound / scale));
+
+        // minTime[v]: least time (ticks) reaching scaled value v
+        int[] minTime = new int[maxValue + 1];
+        // One bit per (task, value): n × 2n/ε bits rather than bytes
+        TakeBits take = new TakeBits(n + 1, maxValue + 1);
+        for (int v = 1; v <= maxValue; v++) {
+            minTime[v] = ValueDynamic.UNREACHABLE;
+        }
+
+        for (int i = 0; i < n; i++) {
+            int weight = items.get(i).getDurationUnits();
+            int value = scaled[i];
+            if (value == 0) continue;
+
+            for (int v = maxValue; v >= value; v--) {
+                int before = minTime[v - value];
+                if (before != ValueDynamic.UNREACHABLE && before + weight < minTime[v]) {
+                    minTime[v] = before + weight;
+                    take.set(i + 1, v);
+                }
+            }
+        }
+
+        int best = maxValue;
+        while (minTime[best] > capacityUnits) best--;
+
+        ArrayList<Task> chosen = new ArrayList<>();
+        float actualTime = 0;
+        int totalValue = 0;
+        int currentValue = best;
+        for (int i = n; i > 0 && currentValue > 0; i--) {
+            if (take.get(i, currentValue)) {
+                Task task = items.get(i - 1);
+                chosen.add(task);
+                actualTime += task.getDuration();
+                totalValue += task.getProductivity();
+                currentValue -= scaled[i - 1];
+            }
+        }
+        chosen.reverse();
+
+        // Each task lost less than 'scale' to rounding; OPT <= 2·LB holds as well
+        int upperBound = scale == 1.0
+            ? totalValue
+            : (int) Math.min(2L * lowerBound, (long) Math.floor(totalValue + n * scale));
+
+        return new FptasResult(chosen, actualTime, totalValue, epsilon, upperBound);
+    }
+}
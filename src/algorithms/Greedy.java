@@ -1,9 +1,25 @@
 package algorithms;
 
 import model.Task;
+import model.TaskTable;
 import util.ArrayList;
 
+import java.util.Arrays;
+
 public class Greedy {
+
+    // Sort buffers kept between solve() calls
+    private final SolverWorkspace workspace;
+    // Pop tasks off a heap until the day is full instead of sorting them all (see solveLazy)
+    private boolean lazy;
+
+    public Greedy() {
+        this(new SolverWorkspace());
+    }
+
+    public Greedy(SolverWorkspace workspace) {
+        this.workspace = workspace;
+    }
     
     public static class GreedyResult {
         public final ArrayList<Task> chosen;
@@ -21,30 +37,19 @@ public class Greedy {
         if (tasks == null || totalHours < 0) {
             throw new IllegalArgumentException("Invalid input");
         }
-        
-        int n = tasks.size();
-        
-        // Optimization 1: Indirect Sorting
-        // Instead of sorting the heavy Task list directly (which changes UI order),
-        // we sort an array of integers representing the indices. 
-        // Swapping ints is much faster than swapping object references.
-        int[] indices = new int[n];
-        
-        // Optimization 2: Pre-compute Ratios (Memoization)
-        // Division is expensive. Calculating (value / duration) inside the sort comparator
-        // would result in O(N log N) divisions. By pre-calculating, we reduce this to O(N).
-        double[] ratios = new double[n];
-        
-        for (int i = 0; i < n; i++) {
-            indices[i] = i;
-            Task t = tasks.get(i);
-            float duration = t.getDuration();
-            // Avoid division by zero; treat 0-duration as infinite value
-            ratios[i] = (duration == 0) ? Double.MAX_VALUE : (double) t.getProductivity() / duration;
+        return solve(workspace.taskTable(tasks), totalHours);
+    }
+
+    // solve() over the columns of an already synced TaskTable
+    public GreedyResult solve(TaskTable tasks, float totalHours) {
+        if (tasks == null || totalHours < 0) {
+            throw new IllegalArgumentException("Invalid input");
         }
+        if (lazy) return solveLazy(tasks, totalHours);
         
-        // Run custom QuickSort on the indices based on the pre-computed ratios
-        quickSort(indices, ratios, 0, n - 1);
+        int n = tasks.size();
+        int[] indices = workspace.indices(n);
+        sortByRatio(tasks, indices, workspace.ratios(n));
         
         ArrayList<Task> chosen = new ArrayList<>();
         float usedTime = 0;
@@ -53,13 +58,12 @@ public class Greedy {
         // Iterate through the sorted indices (Best Ratio -> Worst Ratio)
         for (int i = 0; i < n; i++) {
             int taskIndex = indices[i];
-            Task task = tasks.get(taskIndex);
-            float duration = task.getDuration();
+            float duration = tasks.duration(taskIndex);
             
             if (usedTime + duration <= totalHours) {
-                chosen.add(task);
+                chosen.add(tasks.task(taskIndex));
                 usedTime += duration;
-                totalValue += task.getProductivity();
+                totalValue += tasks.productivity(taskIndex);
             }
         }
         
@@ -67,41 +71,206 @@ public class Greedy {
     }
 
     /**
-     * Standard QuickSort implementation.
-     * Time Complexity: O(N log N) average.
-     * We sort 'indices' but compare values from 'ratios'.
+     * Same result as the sorting solve(), in O(n + k log n) for k popped tasks:
+     * the tasks are heapified by ratio in O(n) and taken off best first, and
+     * the scan stops once not even the shortest task left in the heap fits in
+     * what is left of the day.
+     * The heap orders ties by index like the sort, so the same tasks are chosen.
+     */
+    private GreedyResult solveLazy(TaskTable tasks, float totalHours) {
+        int n = tasks.size();
+        int[] heap = workspace.indices(n);
+        double[] ratios = workspace.ratios(n);
+
+        // Tasks still in the heap, counted by duration in ticks. Durations past
+        // 'limit' share the last bucket, which then stands for "more than limit
+        // ticks": only a lower bound on the shortest task is needed, and past
+        // the capacity it is exact enough to stop on.
+        int limit = (int) Math.min(Math.max(Task.toUnits(totalHours), 0), 4L * n + 64);
+        int[] counts = workspace.durationCounts(limit + 2);
+        Arrays.fill(counts, 0, limit + 2, 0);
+        boolean negative = false;
+
+        for (int i = 0; i < n; i++) {
+            heap[i] = i;
+            float duration = tasks.duration(i);
+            ratios[i] = (duration == 0) ? Double.MAX_VALUE : (double) tasks.productivity(i) / duration;
+            negative |= tasks.durationUnits(i) < 0;
+            counts[bucket(tasks.durationUnits(i), limit)]++;
+        }
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(heap, ratios, i, n);
+        }
+
+        ArrayList<Task> chosen = new ArrayList<>();
+        float usedTime = 0;
+        int totalValue = 0;
+
+        // Moves right only, so all the pointer moves together cost O(limit)
+        int shortest = 0;
+        for (int size = n; size > 0; ) {
+            while (counts[shortest] == 0) shortest++;
+            // A negative duration would always fit, so it never stops early then
+            if (!negative && usedTime + Task.toHours(shortest) > totalHours) break;
+
+            int taskIndex = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, ratios, 0, size);
+            counts[bucket(tasks.durationUnits(taskIndex), limit)]--;
+
+            float duration = tasks.duration(taskIndex);
+            if (usedTime + duration <= totalHours) {
+                chosen.add(tasks.task(taskIndex));
+                usedTime += duration;
+                totalValue += tasks.productivity(taskIndex);
+            }
+        }
+
+        // The sort lists the chosen tasks best first, and so does the heap
+        return new GreedyResult(chosen, usedTime, totalValue);
+    }
+
+    // Count bucket of a duration for solveLazy: 0..limit, or limit + 1 for anything longer
+    private static int bucket(int ticks, int limit) {
+        return Math.min(Math.max(ticks, 0), limit + 1);
+    }
+
+    // Max-heap on (ratio, then lower index first) over heap[0..size)
+    private static void siftDown(int[] heap, double[] ratios, int i, int size) {
+        int item = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && before(heap[child + 1], heap[child], ratios)) child++;
+            if (!before(heap[child], item, ratios)) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = item;
+    }
+
+    // Greedy order: higher ratio first, equal ratios in list order
+    private static boolean before(int a, int b, double[] ratios) {
+        return ratios[a] > ratios[b] || (ratios[a] == ratios[b] && a < b);
+    }
+
+    public boolean isLazy() { return lazy; }
+    public void setLazy(boolean lazy) { this.lazy = lazy; }
+
+    /**
+     * Task indices ordered by productivity per hour, best first.
+     * Shared with solvers that start from the greedy order (e.g. CoreSolver).
+     * Static and reading the list directly, so a caller sorting a temporary
+     * list needs no Greedy, workspace or TaskTable.
      */
-    private void quickSort(int[] indices, double[] ratios, int low, int high) {
-        if (low < high) {
-            int partitionIndex = partition(indices, ratios, low, high);
-            quickSort(indices, ratios, low, partitionIndex - 1);
-            quickSort(indices, ratios, partitionIndex + 1, high);
+    public static int[] sortByRatio(ArrayList<Task> tasks) {
+        int n = tasks.size();
+
+        // Optimization 1: Indirect Sorting
+        // Instead of sorting the heavy Task list directly (which changes UI order),
+        // we sort an array of integers representing the indices. 
+        // Swapping ints is much faster than swapping object references.
+        int[] indices = new int[n];
+        
+        // Optimization 2: Pre-compute sort keys (Memoization)
+        // Division is expensive. Calculating (value / duration) inside the sort comparator
+        // would result in O(N log N) divisions. By pre-calculating, we reduce this to O(N).
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+            Task t = tasks.get(i);
+            keys[i] = descendingKey(ratio(t.getProductivity(), t.getDuration()));
+        }
+
+        radixSort(keys, indices, n, new long[n], new int[n], new int[8 * 256]);
+        return indices;
+    }
+
+    // Sorts into caller-owned buffers (at least tasks.size() long)
+    private void sortByRatio(TaskTable tasks, int[] indices, double[] ratios) {
+        int n = tasks.size();
+        long[] keys = workspace.sortKeys(n);
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+            ratios[i] = ratio(tasks.productivity(i), tasks.duration(i));
+            keys[i] = descendingKey(ratios[i]);
         }
+        
+        // Radix sort the indices by key: O(n) with no recursion, whatever the
+        // ratios are. It is stable, so equal ratios keep their list order,
+        // the same tie rule as solveLazy's heap.
+        radixSort(keys, indices, n, workspace.sortKeyScratch(n), workspace.sortIndexScratch(n),
+            workspace.radixCounts());
+    }
+
+    private static double ratio(int productivity, float duration) {
+        // Avoid division by zero; treat 0-duration as infinite value
+        return (duration == 0) ? Double.MAX_VALUE : (double) productivity / duration;
     }
 
     /**
-     * Partitions the array for QuickSort.
-     * Orders Descending (Highest Ratio first).
+     * Maps a ratio to a long whose unsigned order is the greedy order (highest
+     * ratio first). The ratio needs all 64 bits, so the index is carried next
+     * to the key rather than packed into it.
      */
-    private int partition(int[] indices, double[] ratios, int low, int high) {
-        // Pivot selection: High element
-        double pivotValue = ratios[indices[high]];
-        int i = (low - 1);
-
-        for (int j = low; j < high; j++) {
-            // Check if current element's ratio is GREATER than pivot (Descending order)
-            if (ratios[indices[j]] > pivotValue) {
-                i++;
-                swap(indices, i, j);
+    private static long descendingKey(double ratio) {
+        // + 0.0 turns -0.0 into 0.0, which compares equal to it
+        long bits = Double.doubleToLongBits(ratio + 0.0);
+        // Unsigned ascending order of a double: flip every bit of negatives, only the sign of the rest
+        long ascending = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+        return ~ascending;
+    }
+
+    /**
+     * LSD radix sort of keys[0..n) (unsigned, one byte per pass), moving
+     * indices along. Passes where every key has the same byte are skipped
+     * (e.g. the top byte when the ratios are all of similar size, or all of
+     * them when every ratio is equal). The scratch arrays hold at least n
+     * entries and counts 8 × 256.
+     */
+    private static void radixSort(long[] keys, int[] indices, int n,
+                                  long[] keyScratch, int[] indexScratch, int[] counts) {
+        if (n < 2) return;
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < n; i++) {
+            long key = keys[i];
+            for (int pass = 0; pass < 8; pass++) {
+                counts[(pass << 8) | (int) ((key >>> (pass << 3)) & 0xFF)]++;
             }
         }
-        swap(indices, i + 1, high);
-        return i + 1;
-    }
 
-    private void swap(int[] arr, int i, int j) {
-        int temp = arr[i];
-        arr[i] = arr[j];
-        arr[j] = temp;
+        long[] srcKeys = keys;
+        int[] srcIndices = indices;
+        long[] dstKeys = keyScratch;
+        int[] dstIndices = indexScratch;
+        for (int pass = 0; pass < 8; pass++) {
+            int base = pass << 8;
+            int shift = pass << 3;
+            if (counts[base | (int) ((srcKeys[0] >>> shift) & 0xFF)] == n) continue;
+
+            // Counts -> first slot of each byte value
+            int sum = 0;
+            for (int b = 0; b < 256; b++) {
+                int count = counts[base | b];
+                counts[base | b] = sum;
+                sum += count;
+            }
+            for (int i = 0; i < n; i++) {
+                long key = srcKeys[i];
+                int slot = counts[base | (int) ((key >>> shift) & 0xFF)]++;
+                dstKeys[slot] = key;
+                dstIndices[slot] = srcIndices[i];
+            }
+
+            long[] swapKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = swapKeys;
+            int[] swapIndices = srcIndices;
+            srcIndices = dstIndices;
+            dstIndices = swapIndices;
+        }
+        if (srcIndices != indices) {
+            System.arraycopy(srcIndices, 0, indices, 0, n);
+        }
     }
-}
\ No newline at end of file
+}
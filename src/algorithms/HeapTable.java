@@ -0,0 +1,60 @@
+package algorithms;
+
+import algorithms.Dynamic.CellWidth;
+import util.DPTable;
+
+/**
+ * DPTable on the Java heap: one short, int or long array per dp row (see
+ * CellWidth), take decisions as bits.
+ * The arrays may be larger than the table (see SolverWorkspace).
+ */
+final class HeapTable implements DPTable {
+
+    // Exactly one of these holds the rows
+    private final short[][] shortRows;
+    private final int[][] intRows;
+    private final long[][] longRows;
+    private final TakeBits take;
+    // Set for tables in workspace memory: valid while the workspace is at this generation
+    private final SolverWorkspace workspace;
+    private final long generation;
+
+    HeapTable(Object[] dp, CellWidth width, TakeBits take) {
+        this(dp, width, take, null);
+    }
+
+    HeapTable(Object[] dp, CellWidth width, TakeBits take, SolverWorkspace workspace) {
+        this.shortRows = width == CellWidth.SHORT ? (short[][]) dp : null;
+        this.intRows = width == CellWidth.INT ? (int[][]) dp : null;
+        this.longRows = width == CellWidth.LONG ? (long[][]) dp : null;
+        this.take = take;
+        this.workspace = workspace;
+        this.generation = workspace != null ? workspace.generation() : 0;
+    }
+
+    @Override
+    public int rows() { return take.rows; }
+
+    @Override
+    public int columns() { return take.columns; }
+
+    @Override
+    public long value(int row, int column) {
+        if (shortRows != null) return shortRows[row][column];
+        if (intRows != null) return intRows[row][column];
+        return longRows[row][column];
+    }
+
+    @Override
+    public boolean taken(int row, int column) { return take.get(row, column); }
+
+    @Override
+    public boolean isCurrent() {
+        return workspace == null || workspace.generation() == generation;
+    }
+
+    @Override
+    public void close() {
+        // Left to the garbage collector
+    }
+}
@@ -0,0 +1,132 @@
+package algorithms;
+
+import model.Task;
+import util.ArrayList;
+
+import java.util.Arrays;
+
+/**
+ * Exact knapsack for a few tasks and any capacity (Horowitz–Sahni).
+ * The tasks are split into two halves and every subset of each half is
+ * enumerated. Subsets of the second half are sorted by time and a running
+ * maximum of value is kept. For each subset of the first half, a binary
+ * search then finds the best second-half subset that still fits.
+ * Cost is O(2^(n/2) · n), independent of capacity, so this beats Dynamic's
+ * n × capacity table when n is small and the capacity is in the thousands.
+ */
+public class MeetInTheMiddle {
+
+    // 2^20 subsets per half is the most that stays a few MB and well under a second
+    public static final int MAX_TASKS = 40;
+
+    public static class MitmResult {
+        public final ArrayList<Task> chosen;
+        public final float totalTime;
+        public final int totalValue;
+        public final long subsets; // subsets enumerated over both halves
+
+        public MitmResult(ArrayList<Task> chosen, float totalTime, int totalValue, long subsets) {
+            this.chosen = chosen;
+            this.totalTime = totalTime;
+            this.totalValue = totalValue;
+            this.subsets = subsets;
+        }
+    }
+
+    public MitmResult solve(ArrayList<Task> tasks, float totalHours) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+
+        int capacityUnits = Task.toUnits(totalHours);
+
+        ArrayList<Task> items = Candidates.filter(tasks, capacityUnits).items;
+        int n = items.size();
+        if (n > MAX_TASKS) {
+            throw new IllegalArgumentException("Meet-in-the-middle supports at most " + MAX_TASKS + " tasks");
+        }
+
+        int firstSize = n / 2;
+        int secondSize = n - firstSize;
+        int firstCount = 1 << firstSize;
+        int secondCount = 1 << secondSize;
+
+        int[] firstWeight = new int[firstCount];
+        int[] firstValue = new int[firstCount];
+        enumerate(items, 0, firstSize, firstWeight, firstValue);
+
+        int[] secondWeight = new int[secondCount];
+        int[] secondValue = new int[secondCount];
+        enumerate(items, firstSize, secondSize, secondWeight, secondValue);
+
+        // Sort second-half subsets by time: pack (weight, mask) into one long
+        // so a primitive sort does it without boxing
+        long[] byWeight = new long[secondCount];
+        for (int mask = 0; mask < secondCount; mask++) {
+            byWeight[mask] = ((long) secondWeight[mask] << 32) | mask;
+        }
+        Arrays.sort(byWeight);
+
+        // sortedWeight[k] ascending; bestMask[k]: most valuable subset among the first k + 1
+        int[] sortedWeight = new int[secondCount];
+        int[] bestMask = new int[secondCount];
+        int best = -1;
+        for (int k = 0; k < secondCount; k++) {
+            int mask = (int) byWeight[k];
+            sortedWeight[k] = (int) (byWeight[k] >>> 32);
+            if (best < 0 || secondValue[mask] > secondValue[best]) best = mask;
+            bestMask[k] = best;
+        }
+
+        int bestValue = -1;
+        int bestFirst = 0;
+        int bestSecond = 0;
+        for (int mask = 0; mask < firstCount; mask++) {
+            int room = capacityUnits - firstWeight[mask];
+            if (room < 0) continue;
+
+            // Last sorted subset with weight <= room (the empty set always qualifies)
+            int lo = 0;
+            int hi = secondCount - 1;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (sortedWeight[mid] <= room) lo = mid;
+                else hi = mid - 1;
+            }
+            int second = bestMask[lo];
+            int value = firstValue[mask] + secondValue[second];
+            if (value > bestValue) {
+                bestValue = value;
+                bestFirst = mask;
+                bestSecond = second;
+            }
+        }
+
+        ArrayList<Task> chosen = new ArrayList<>();
+        float actualTime = 0;
+        for (int i = 0; i < n; i++) {
+            boolean picked = i < firstSize
+                ? (bestFirst & (1 << i)) != 0
+                : (bestSecond & (1 << (i - firstSize))) != 0;
+            if (picked) {
+                Task t = items.get(i);
+                chosen.add(t);
+                actualTime += t.getDuration();
+            }
+        }
+
+        return new MitmResult(chosen, actualTime, bestValue, (long) firstCount + secondCount);
+    }
+
+    /**
+     * Totals of every subset of items[from, from + size), indexed by bitmask.
+     * Each subset extends the one without its lowest bit, so this is one add per subset.
+     */
+    private static void enumerate(ArrayList<Task> items, int from, int size, int[] weight, int[] value) {
+        for (int mask = 1; mask < (1 << size); mask++) {
+            int low = Integer.numberOfTrailingZeros(mask);
+            int rest = mask & (mask - 1);
+            Task t = items.get(from + low);
+            weight[mask] = weight[rest] + t.getDurationUnits();
+            value[mask] = value[rest] + t.getProductivity();
+        }
+    }
+}
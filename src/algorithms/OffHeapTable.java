@@ -0,0 +1,127 @@
+package algorithms;
+
+import algorithms.Dynamic.CellWidth;
+import util.DPTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * DPTable in one contiguous block of native memory (values as shorts, ints
+ * or longs per CellWidth, then the take decisions packed like TakeBits), owned by an Arena. Nothing of the table is
+ * on the Java heap, so it adds no GC work, and close() frees it at once
+ * instead of whenever the collector runs.
+ *
+ * The file-backed variant maps a temporary file instead, so the OS can page
+ * tables larger than RAM to disk. The file is deleted as soon as it is
+ * mapped; the mapping keeps the data until close().
+ */
+final class OffHeapTable implements DPTable {
+
+    private final Arena arena;
+    private final MemorySegment values; // rows × columns cells, row-major
+    private final MemorySegment take;   // rows × stride longs, one bit per cell
+    private final CellWidth width;
+    private final int rows;
+    private final int columns;
+    private final int stride;
+    private final boolean fileBacked;
+
+    private OffHeapTable(Arena arena, MemorySegment block, int rows, int columns, CellWidth width,
+                         boolean fileBacked) {
+        long valueBytes = valueBytes(rows, columns, width);
+        this.arena = arena;
+        this.stride = TakeBits.strideFor(columns);
+        this.values = block.asSlice(0, valueBytes);
+        this.take = block.asSlice(valueBytes, (long) rows * stride * Long.BYTES);
+        this.width = width;
+        this.rows = rows;
+        this.columns = columns;
+        this.fileBacked = fileBacked;
+    }
+
+    // Table in native memory, zero-filled
+    static OffHeapTable allocate(int rows, int columns, CellWidth width) {
+        Arena arena = Arena.ofShared();
+        MemorySegment block = arena.allocate(byteSize(rows, columns, width), Long.BYTES);
+        return new OffHeapTable(arena, block, rows, columns, width, false);
+    }
+
+    // Table in a memory-mapped temporary file in dir (the default temp dir if null)
+    static OffHeapTable mapped(int rows, int columns, CellWidth width, Path dir) {
+        Arena arena = Arena.ofShared();
+        try {
+            Path file = dir == null ? Files.createTempFile("dp-table", ".bin") : Files.createTempFile(dir, "dp-table", ".bin");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+                MemorySegment block = channel.map(FileChannel.MapMode.READ_WRITE, 0, byteSize(rows, columns, width), arena);
+                return new OffHeapTable(arena, block, rows, columns, width, true);
+            }
+        } catch (IOException e) {
+            arena.close();
+            throw new UncheckedIOException("Could not map DP table file", e);
+        }
+    }
+
+    static long byteSize(int rows, int columns, CellWidth width) {
+        return valueBytes(rows, columns, width) + (long) rows * TakeBits.strideFor(columns) * Long.BYTES;
+    }
+
+    // Values, padded so the take words after them stay 8-byte aligned
+    private static long valueBytes(int rows, int columns, CellWidth width) {
+        return ((long) rows * columns * width.bytes + 7) & ~7L;
+    }
+
+    private static ValueLayout layout(CellWidth width) {
+        return switch (width) {
+            case SHORT -> ValueLayout.JAVA_SHORT;
+            case INT -> ValueLayout.JAVA_INT;
+            case LONG -> ValueLayout.JAVA_LONG;
+        };
+    }
+
+    // Copies one finished row in from the heap buffers the row kernels work on
+    // (a short[], int[] or long[] matching the table's width)
+    void writeRow(int row, Object rowValues, long[] rowTake) {
+        MemorySegment.copy(rowValues, 0, values, layout(width), (long) row * columns * width.bytes, columns);
+        MemorySegment.copy(rowTake, 0, take, ValueLayout.JAVA_LONG, (long) row * stride * Long.BYTES, stride);
+    }
+
+    boolean isFileBacked() { return fileBacked; }
+
+    long byteSize() { return byteSize(rows, columns, width); }
+
+    @Override
+    public int rows() { return rows; }
+
+    @Override
+    public int columns() { return columns; }
+
+    @Override
+    public long value(int row, int column) {
+        long index = (long) row * columns + column;
+        return switch (width) {
+            case SHORT -> values.getAtIndex(ValueLayout.JAVA_SHORT, index);
+            case INT -> values.getAtIndex(ValueLayout.JAVA_INT, index);
+            case LONG -> values.getAtIndex(ValueLayout.JAVA_LONG, index);
+        };
+    }
+
+    @Override
+    public boolean taken(int row, int column) {
+        long word = take.getAtIndex(ValueLayout.JAVA_LONG, (long) row * stride + (column >>> 6));
+        return (word & (1L << column)) != 0;
+    }
+
+    @Override
+    public void close() {
+        if (arena.scope().isAlive()) arena.close();
+    }
+}
@@ -0,0 +1,231 @@
+package algorithms;
+
+import model.Task;
+import util.ArrayList;
+
+import java.util.Arrays;
+
+/**
+ * Shrinks a knapsack instance before any solver sees it:
+ *  1. Infeasible tasks (longer than the capacity, or no positive value) are dropped.
+ *  2. Dominated tasks are dropped: task j goes when the tasks that are at most as
+ *     long and at least as valuable can't all fit together with j. Any optimal
+ *     set containing j then misses one of them, and swapping it in for j is
+ *     no worse.
+ *  3. Tasks are fixed with the greedy bounds: with λ = ratio of the greedy break
+ *     item, value(x) <= λ·C + Σ max(0, v_i - λ·w_i) for every feasible x.
+ *     If forcing a task against its LP choice pushes that bound to the greedy
+ *     value or below, the task is fixed to its LP choice (taken or dropped).
+ * The greedy solution is kept as an incumbent so that expand() can fall back
+ * to it when fixing has cut off the only optimum better than greedy's.
+ */
+public class Reduction {
+
+    public static class ReducedProblem {
+        public final ArrayList<Task> tasks;   // left for the solver
+        public final float capacity;          // hours left after the fixed-in tasks
+        public final int originalCount;
+        public final int infeasible;
+        public final int dominated;
+        public final int fixedOut;
+        public final int fixedInCount;
+
+        private final Candidates candidates;
+        private final ArrayList<Task> fixedIn;
+        private final int fixedValue;
+        private final ArrayList<Task> incumbent;
+        private final int incumbentValue;
+
+        ReducedProblem(Candidates candidates, ArrayList<Task> tasks, float capacity,
+                       ArrayList<Task> fixedIn, int fixedValue,
+                       ArrayList<Task> incumbent, int incumbentValue,
+                       int infeasible, int dominated, int fixedOut) {
+            this.candidates = candidates;
+            this.tasks = tasks;
+            this.capacity = capacity;
+            this.fixedIn = fixedIn;
+            this.fixedValue = fixedValue;
+            this.incumbent = incumbent;
+            this.incumbentValue = incumbentValue;
+            this.originalCount = candidates.listSize;
+            this.infeasible = infeasible;
+            this.dominated = dominated;
+            this.fixedOut = fixedOut;
+            this.fixedInCount = fixedIn.size();
+        }
+
+        public int eliminated() {
+            return originalCount - tasks.size();
+        }
+
+        // Value already secured by the fixed-in tasks
+        public int getFixedValue() { return fixedValue; }
+
+        // Value of the greedy solution expand() falls back to
+        public int getIncumbentValue() { return incumbentValue; }
+
+        /**
+         * Maps a solution of the reduced tasks back onto the original list:
+         * fixed-in tasks are added, and the result is listed in the original order.
+         * If the greedy incumbent is better it is returned instead.
+         */
+        public ArrayList<Task> expand(ArrayList<Task> reducedChosen) {
+            int value = fixedValue;
+            for (Task t : reducedChosen) value += t.getProductivity();
+
+            if (value < incumbentValue) return candidates.inListOrder(incumbent);
+
+            ArrayList<Task> picks = new ArrayList<>(reducedChosen.size() + fixedIn.size());
+            picks.addAll(reducedChosen);
+            picks.addAll(fixedIn);
+            return candidates.inListOrder(picks);
+        }
+    }
+
+    public ReducedProblem reduce(ArrayList<Task> tasks, float totalHours) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+
+        int capacityUnits = Task.toUnits(totalHours);
+
+        // 1. Infeasible tasks
+        Candidates candidates = Candidates.filter(tasks, capacityUnits);
+        ArrayList<Task> feasible = candidates.items;
+        int infeasible = candidates.dropped();
+
+        // 2. Dominated tasks
+        ArrayList<Task> remaining = removeDominated(feasible, capacityUnits);
+        int dominated = feasible.size() - remaining.size();
+
+        // 3. Fixing by bounds
+        int n = remaining.size();
+        int[] order = Greedy.sortByRatio(remaining);
+
+        ArrayList<Task> incumbent = new ArrayList<>();
+        int incumbentValue = 0;
+        int used = 0;
+        int breakPos = -1;
+        for (int p = 0; p < n; p++) {
+            Task t = remaining.get(order[p]);
+            if (used + t.getDurationUnits() <= capacityUnits) {
+                incumbent.add(t);
+                incumbentValue += t.getProductivity();
+                used += t.getDurationUnits();
+            } else if (breakPos < 0) {
+                breakPos = p;
+            }
+        }
+
+        ArrayList<Task> fixedIn = new ArrayList<>();
+        boolean[] fixed = new boolean[n];
+        int fixedValue = 0;
+        int fixedUnits = 0;
+        int fixedOut = 0;
+
+        if (breakPos < 0) {
+            // Everything fits: the whole list is the answer
+            for (int i = 0; i < n; i++) {
+                fixed[i] = true;
+                Task t = remaining.get(i);
+                fixedIn.add(t);
+                fixedValue += t.getProductivity();
+                fixedUnits += t.getDurationUnits();
+            }
+        } else {
+            // Bound terms scaled by the break item's duration (exact integer arithmetic)
+            Task breakTask = remaining.get(order[breakPos]);
+            long vb = breakTask.getProductivity();
+            long wb = breakTask.getDurationUnits();
+            long bound = vb * capacityUnits;
+            long[] reduced = new long[n];
+            for (int i = 0; i < n; i++) {
+                Task t = remaining.get(i);
+                reduced[i] = t.getProductivity() * wb - vb * t.getDurationUnits();
+                if (reduced[i] > 0) bound += reduced[i];
+            }
+
+            long limit = (incumbentValue + 1L) * wb;
+            for (int i = 0; i < n; i++) {
+                if (reduced[i] == 0 || bound - Math.abs(reduced[i]) >= limit) continue;
+
+                fixed[i] = true;
+                if (reduced[i] > 0) {
+                    Task t = remaining.get(i);
+                    fixedIn.add(t);
+                    fixedValue += t.getProductivity();
+                    fixedUnits += t.getDurationUnits();
+                } else {
+                    fixedOut++;
+                }
+            }
+        }
+
+        if (fixedUnits > capacityUnits) {
+            // The fixed-in tasks can only all be optimal together if they fit,
+            // so the bounds have proven the greedy incumbent optimal.
+            return new ReducedProblem(candidates, new ArrayList<>(), 0, new ArrayList<>(), 0,
+                incumbent, incumbentValue, infeasible, dominated, n);
+        }
+
+        // Whatever no longer fits next to the fixed-in tasks is out as well
+        ArrayList<Task> left = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (fixed[i]) continue;
+            Task t = remaining.get(i);
+            if (t.getDurationUnits() <= capacityUnits - fixedUnits) {
+                left.add(t);
+            } else {
+                fixedOut++;
+            }
+        }
+
+        return new ReducedProblem(candidates, left, Task.toHours(capacityUnits - fixedUnits),
+            fixedIn, fixedValue, incumbent, incumbentValue, infeasible, dominated, fixedOut);
+    }
+
+    /**
+     * Sweeps tasks by duration (shortest first, most valuable first on ties).
+     * When task j comes up, every kept task that dominates it has been seen;
+     * a Fenwick tree over productivity gives the total duration of those with
+     * productivity >= v_j in O(log V).
+     */
+    private ArrayList<Task> removeDominated(ArrayList<Task> tasks, int capacityUnits) {
+        int n = tasks.size();
+        Integer[] byWeight = new Integer[n];
+        int maxValue = 0;
+        for (int i = 0; i < n; i++) {
+            byWeight[i] = i;
+            maxValue = Math.max(maxValue, tasks.get(i).getProductivity());
+        }
+        Arrays.sort(byWeight, (a, b) -> {
+            Task x = tasks.get(a);
+            Task y = tasks.get(b);
+            if (x.getDurationUnits() != y.getDurationUnits()) return x.getDurationUnits() - y.getDurationUnits();
+            return y.getProductivity() - x.getProductivity();
+        });
+
+        // Fenwick tree indexed by (maxValue - productivity + 1), so a prefix sum
+        // covers every productivity >= v
+        long[] tree = new long[maxValue + 2];
+        boolean[] keep = new boolean[n];
+
+        for (int k = 0; k < n; k++) {
+            int i = byWeight[k];
+            Task t = tasks.get(i);
+            int slot = maxValue - t.getProductivity() + 1;
+
+            long dominatingUnits = 0;
+            for (int s = slot; s > 0; s -= s & -s) dominatingUnits += tree[s];
+
+            if (dominatingUnits + t.getDurationUnits() > capacityUnits) continue;
+
+            keep[i] = true;
+            for (int s = slot; s < tree.length; s += s & -s) tree[s] += t.getDurationUnits();
+        }
+
+        ArrayList<Task> kept = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) kept.add(tasks.get(i));
+        }
+        return kept;
+    }
+}
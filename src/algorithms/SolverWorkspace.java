@@ -0,0 +1,181 @@
+package algorithms;
+
+import algorithms.Dynamic.CellWidth;
+import model.Task;
+import model.TaskList;
+import model.TaskTable;
+import util.ArrayList;
+
+import java.util.Arrays;
+
+/**
+ * Scratch memory shared by the solvers of one owner (e.g. SchedulerService),
+ * kept between runs. Buffers only ever grow (by half again when they must),
+ * so once they fit the largest input seen, a re-run allocates nothing but
+ * its result.
+ *
+ * Whatever a solver returns from workspace memory is only valid until the
+ * next run on the same workspace.
+ */
+public class SolverWorkspace {
+
+    // Columns of the list being solved (see taskTable)
+    private final TaskTable taskTable = new TaskTable();
+
+    // Greedy: sort order and the ratio it is sorted by,
+    // plus the radix sort's keys, its second key/index buffer and byte counts
+    private int[] indices = new int[0];
+    private double[] ratios = new double[0];
+    private long[] sortKeys = new long[0];
+    private long[] sortKeyScratch = new long[0];
+    private int[] sortIndexScratch = new int[0];
+    private final int[] radixCounts = new int[8 * 256];
+    // Greedy's lazy mode: tasks left in the heap per duration
+    private int[] durationCounts = new int[0];
+
+    // Dynamic.solveIncremental: table rows, take bits, and the task behind each row
+    private Object[] dpRows = new int[0][];
+    private CellWidth rowWidth = CellWidth.INT;
+    private int rowLength;
+    private long[] takeWords = new long[0];
+    private int[] rowWeights = new int[0];
+    private short[] rowValues = new short[0];
+    // Shape of the table the rows above hold (tableRows = 0: none)
+    int tableRows;
+    int tableCapacity = -1;
+    CellWidth tableWidth;
+    // TaskTable.version() of the tasks behind the rows (UNVERSIONED: compare row by row)
+    long tableVersion = TaskTable.UNVERSIONED;
+    // Bumped whenever the table memory is rewritten or dropped, which
+    // invalidates tables handed out before (see DPTable.isCurrent)
+    private long generation;
+
+    long generation() { return generation; }
+
+    // Called before the table memory is rewritten
+    void invalidateTable() { generation++; }
+
+    /**
+     * The workspace's one TaskTable, synced to tasks. The solvers' ArrayList
+     * entry points use it; an owner that passes the table to several solvers
+     * can sync once and hand the same table to each.
+     */
+    public TaskTable taskTable(ArrayList<Task> tasks) {
+        return taskTable.sync(tasks);
+    }
+
+    // Same for a snapshot: free when the table already holds its version
+    public TaskTable taskTable(TaskList.Snapshot tasks) {
+        return taskTable.sync(tasks);
+    }
+
+    int[] indices(int n) {
+        if (indices.length < n) indices = new int[grow(indices.length, n)];
+        return indices;
+    }
+
+    double[] ratios(int n) {
+        if (ratios.length < n) ratios = new double[grow(ratios.length, n)];
+        return ratios;
+    }
+
+    long[] sortKeys(int n) {
+        if (sortKeys.length < n) sortKeys = new long[grow(sortKeys.length, n)];
+        return sortKeys;
+    }
+
+    long[] sortKeyScratch(int n) {
+        if (sortKeyScratch.length < n) sortKeyScratch = new long[grow(sortKeyScratch.length, n)];
+        return sortKeyScratch;
+    }
+
+    int[] sortIndexScratch(int n) {
+        if (sortIndexScratch.length < n) sortIndexScratch = new int[grow(sortIndexScratch.length, n)];
+        return sortIndexScratch;
+    }
+
+    // Not cleared; the caller zeroes what it uses
+    int[] durationCounts(int n) {
+        if (durationCounts.length < n) durationCounts = new int[grow(durationCounts.length, n)];
+        return durationCounts;
+    }
+
+    // Cleared by the caller before each use
+    int[] radixCounts() {
+        return radixCounts;
+    }
+
+    /**
+     * At least 'rows' dp rows of at least 'columns' cells of the given width
+     * (a short[][], int[][] or long[][]). Existing rows are kept while they
+     * are long enough; a wider table or another cell width drops them all.
+     */
+    Object[] dpRows(CellWidth width, int rows, int columns) {
+        if (columns > rowLength || width != rowWidth) {
+            dpRows = width.newRows(Math.max(dpRows.length, rows));
+            rowWidth = width;
+            rowLength = Math.max(rowLength, columns);
+        } else if (dpRows.length < rows) {
+            dpRows = Arrays.copyOf(dpRows, grow(dpRows.length, rows));
+        }
+        for (int i = 0; i < rows; i++) {
+            if (dpRows[i] == null) dpRows[i] = width.newRow(rowLength);
+        }
+        return dpRows;
+    }
+
+    // Grows keep the old contents: the incremental solver reads its previous prefix
+    long[] takeWords(int words) {
+        if (takeWords.length < words) takeWords = Arrays.copyOf(takeWords, grow(takeWords.length, words));
+        return takeWords;
+    }
+
+    int[] rowWeights(int n) {
+        if (rowWeights.length < n) rowWeights = Arrays.copyOf(rowWeights, grow(rowWeights.length, n));
+        return rowWeights;
+    }
+
+    short[] rowValues(int n) {
+        if (rowValues.length < n) rowValues = Arrays.copyOf(rowValues, grow(rowValues.length, n));
+        return rowValues;
+    }
+
+    // Heap held between runs
+    public long retainedBytes() {
+        long bytes = (long) indices.length * Integer.BYTES + (long) ratios.length * Double.BYTES
+            + (long) (sortKeys.length + sortKeyScratch.length) * Long.BYTES
+            + (long) (sortIndexScratch.length + radixCounts.length + durationCounts.length) * Integer.BYTES
+            + (long) takeWords.length * Long.BYTES + (long) rowWeights.length * Integer.BYTES
+            + (long) rowValues.length * Short.BYTES + taskTable.retainedBytes();
+        for (Object row : dpRows) {
+            if (row != null) bytes += (long) rowLength * rowWidth.bytes;
+        }
+        return bytes;
+    }
+
+    // Drops every buffer, e.g. after one unusually large run
+    public void release() {
+        taskTable.clear();
+        indices = new int[0];
+        ratios = new double[0];
+        sortKeys = new long[0];
+        sortKeyScratch = new long[0];
+        sortIndexScratch = new int[0];
+        durationCounts = new int[0];
+        dpRows = new int[0][];
+        rowWidth = CellWidth.INT;
+        rowLength = 0;
+        takeWords = new long[0];
+        rowWeights = new int[0];
+        rowValues = new short[0];
+        tableRows = 0;
+        tableCapacity = -1;
+        tableWidth = null;
+        tableVersion = TaskTable.UNVERSIONED;
+        generation++;
+    }
+
+    private static int grow(int current, int needed) {
+        return Math.min(Integer.MAX_VALUE - 8, Math.max(needed, current + (current >> 1)));
+    }
+}
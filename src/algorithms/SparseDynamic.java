@@ -0,0 +1,153 @@
+package algorithms;
+
+import model.Task;
+import util.ArrayList;
+
+import java.util.Arrays;
+
+/**
+ * 0/1 knapsack over non-dominated (time, value) states (Nemhauser–Ullmann).
+ * After each task only the states that no other state beats on both time and
+ * value are kept, so work and memory follow the number of distinct reachable
+ * states rather than capacity. Useful when all tasks are long blocks and the
+ * capacity is large: most columns of Dynamic's table are then never reachable.
+ */
+public class SparseDynamic {
+
+    public static class SparseResult {
+        public final ArrayList<Task> chosen;
+        public final float totalTime;
+        public final int totalValue;
+        public final int peakStates;   // largest frontier seen
+        public final int storedStates; // states kept for reconstruction
+
+        public SparseResult(ArrayList<Task> chosen, float totalTime, int totalValue,
+                            int peakStates, int storedStates) {
+            this.chosen = chosen;
+            this.totalTime = totalTime;
+            this.totalValue = totalValue;
+            this.peakStates = peakStates;
+            this.storedStates = storedStates;
+        }
+    }
+
+    // Every state created by taking a task, linked to the state it extended.
+    // A state carried over without the task is not stored again.
+    private int[] stateWeight;
+    private int[] stateValue;
+    private int[] stateParent;
+    private int[] stateTask;
+    private int stateCount;
+
+    public SparseResult solve(ArrayList<Task> tasks, float totalHours) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+
+        int n = tasks.size();
+        int capacityUnits = Task.toUnits(totalHours);
+
+        stateWeight = new int[16];
+        stateValue = new int[16];
+        stateParent = new int[16];
+        stateTask = new int[16];
+        stateCount = 0;
+        addState(0, 0, -1, -1);
+
+        // Frontier: state ids sorted by weight, values strictly increasing
+        int[] frontier = { 0 };
+        int size = 1;
+        int[] next = new int[2];
+        int peak = 1;
+
+        for (int i = 0; i < n; i++) {
+            Task task = tasks.get(i);
+            int weight = task.getDurationUnits();
+            int value = task.getProductivity();
+            if (weight > capacityUnits || value <= 0) continue;
+
+            if (next.length < size * 2) {
+                next = new int[size * 2];
+            }
+
+            // Merge the frontier without the task (a) and shifted by the task (b),
+            // both sorted by weight, dropping every state that isn't more valuable
+            // than a lighter one already kept.
+            int a = 0;
+            int b = 0;
+            int count = 0;
+            int bestValue = -1;
+            while (a < size || b < size) {
+                int bId = b < size ? frontier[b] : -1;
+                int bWeight = bId >= 0 ? stateWeight[bId] + weight : Integer.MAX_VALUE;
+                if (bWeight > capacityUnits) {
+                    // Shifted states only get heavier from here
+                    b = size;
+                    bId = -1;
+                    bWeight = Integer.MAX_VALUE;
+                    if (a >= size) break;
+                }
+
+                int aId = a < size ? frontier[a] : -1;
+                int aWeight = aId >= 0 ? stateWeight[aId] : Integer.MAX_VALUE;
+                int bValue = bId >= 0 ? stateValue[bId] + value : -1;
+
+                // Lighter state first; on equal weight the more valuable one,
+                // and on a full tie the state without the task (as Dynamic does).
+                boolean takeA = aWeight < bWeight
+                    || (aWeight == bWeight && stateValue[aId] >= bValue);
+
+                if (takeA) {
+                    if (stateValue[aId] > bestValue) {
+                        bestValue = stateValue[aId];
+                        next[count++] = aId;
+                    }
+                    a++;
+                } else {
+                    if (bValue > bestValue) {
+                        bestValue = bValue;
+                        next[count++] = addState(bWeight, bValue, bId, i);
+                    }
+                    b++;
+                }
+            }
+
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            size = count;
+            peak = Math.max(peak, size);
+        }
+
+        // Values increase along the frontier, so the last state is the optimum
+        int best = frontier[size - 1];
+        int totalValue = stateValue[best];
+
+        ArrayList<Task> chosen = new ArrayList<>();
+        float actualTime = 0;
+        for (int s = best; stateTask[s] >= 0; s = stateParent[s]) {
+            Task task = tasks.get(stateTask[s]);
+            chosen.add(task);
+            actualTime += task.getDuration();
+        }
+        chosen.reverse();
+
+        int stored = stateCount;
+        stateWeight = stateValue = stateParent = stateTask = null;
+
+        return new SparseResult(chosen, actualTime, totalValue, peak, stored);
+    }
+
+    private int addState(int weight, int value, int parent, int task) {
+        if (stateCount == stateWeight.length) {
+            int newCapacity = stateCount * 2;
+            stateWeight = Arrays.copyOf(stateWeight, newCapacity);
+            stateValue = Arrays.copyOf(stateValue, newCapacity);
+            stateParent = Arrays.copyOf(stateParent, newCapacity);
+            stateTask = Arrays.copyOf(stateTask, newCapacity);
+        }
+        stateWeight[stateCount] = weight;
+        stateValue[stateCount] = value;
+        stateParent[stateCount] = parent;
+        stateTask[stateCount] = task;
+        return stateCount++;
+    }
+}
@@ -0,0 +1,48 @@
+package algorithms;
+
+/**
+ * Dynamic's take table as one bit per cell: a single long[] where row i
+ * starts at word i * stride and column w is bit (w % 64) of word w / 64.
+ * 1/8 of a boolean[][] (and no per-row array headers), which is what lets
+ * larger n × capacity tables fit in the same heap.
+ */
+final class TakeBits {
+
+    final long[] words;
+    final int stride; // words per row
+    final int rows;
+    final int columns;
+
+    TakeBits(int rows, int columns) {
+        this(new long[Math.toIntExact((long) rows * strideFor(columns))], rows, columns);
+    }
+
+    // View over an existing (possibly longer) array, e.g. from a SolverWorkspace
+    TakeBits(long[] words, int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.stride = strideFor(columns);
+        this.words = words;
+    }
+
+    static int wordsFor(int rows, int columns) {
+        return Math.toIntExact((long) rows * strideFor(columns));
+    }
+
+    static int strideFor(int columns) {
+        return (columns + 63) >>> 6;
+    }
+
+    // Index of the first word of a row
+    int rowOffset(int row) {
+        return row * stride;
+    }
+
+    boolean get(int row, int column) {
+        return (words[row * stride + (column >>> 6)] & (1L << column)) != 0;
+    }
+
+    void set(int row, int column) {
+        words[row * stride + (column >>> 6)] |= 1L << column;
+    }
+}
@@ -0,0 +1,54 @@
+package algorithms;
+
+import model.Task;
+import model.TaskTable;
+import util.ArrayList;
+
+/**
+ * Column width of the capacity-indexed tables (Dynamic, Dynamic1D,
+ * BoundedDynamic). Durations are stored in fine ticks (see Task), but a
+ * table only needs one column per step that every duration is a multiple
+ * of: the gcd of the durations. For half-hour data that is 6 ticks, so the
+ * table is exactly as large as with half-hour units.
+ *
+ * The capacity is divided by the step and rounded down. Any set of tasks
+ * uses a whole number of steps, so it fits floor(C / step) steps exactly
+ * when it fits C ticks.
+ */
+public final class TimeScale {
+
+    private TimeScale() {
+    }
+
+    // Ticks per table column: gcd of the positive durations (1 if there are none)
+    public static int step(ArrayList<Task> tasks) {
+        return step(TaskTable.of(tasks));
+    }
+
+    public static int step(TaskTable tasks) {
+        int step = 0;
+        for (int i = 0; i < tasks.size() && step != 1; i++) {
+            if (tasks.durationUnits(i) > 0) step = gcd(step, tasks.durationUnits(i));
+        }
+        return Math.max(step, 1);
+    }
+
+    // Columns of a capacity-indexed table for these tasks (capacity in steps, plus column 0)
+    public static int columns(ArrayList<Task> tasks, float hours) {
+        return Task.toUnits(hours) / step(tasks) + 1;
+    }
+
+    public static int columns(TaskTable tasks, float hours) {
+        return Task.toUnits(hours) / step(tasks) + 1;
+    }
+
+    // gcd(0, b) = b, so a running gcd can start from 0
+    public static int gcd(int a, int b) {
+        while (b != 0) {
+            int r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,118 @@
+package algorithms;
+
+import model.Task;
+import util.ArrayList;
+
+/**
+ * 0/1 knapsack indexed by total value instead of capacity:
+ * minTime[v] is the least time (in ticks, see Task) needed to collect value v.
+ * The table is n × sum(productivity), so it beats Dynamic's n × capacity
+ * whenever scores are small and capacities are large.
+ */
+public class ValueDynamic {
+
+    // Marks a value that no subset of tasks reaches
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    public static class ValueResult {
+        public final int[] minTime;
+        public final ArrayList<Task> chosen;
+        public final float totalTime;
+        public final int totalValue;
+
+        public ValueResult(int[] minTime, ArrayList<Task> chosen, float totalTime, int totalValue) {
+            this.minTime = minTime;
+            this.chosen = chosen;
+            this.totalTime = totalTime;
+            this.totalValue = totalValue;
+        }
+    }
+
+    public ValueResult solve(ArrayList<Task> tasks, float totalHours) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+
+        int n = tasks.size();
+        int capacityUnits = Task.toUnits(totalHours);
+        int maxValue = totalValue(tasks);
+
+        int[] minTime = new int[maxValue + 1];
+        boolean[][] take = new boolean[n + 1][maxValue + 1];
+        fill(tasks, minTime, take);
+
+        // Highest value whose minimum time still fits the capacity
+        int best = maxValue;
+        while (minTime[best] > capacityUnits) best--;
+
+        ArrayList<Task> chosen = new ArrayList<>();
+        float actualTime = 0;
+        int currentValue = best;
+        for (int i = n; i > 0 && currentValue > 0; i--) {
+            if (take[i][currentValue]) {
+                Task task = tasks.get(i - 1);
+                chosen.add(task);
+                actualTime += task.getDuration();
+                currentValue -= task.getProductivity();
+            }
+        }
+        chosen.reverse();
+
+        return new ValueResult(minTime, chosen, actualTime, best);
+    }
+
+    /**
+     * Smallest capacity (in hours) at which the optimum reaches targetValue,
+     * or -1 if all tasks together fall short. Runs one value-indexed pass
+     * without a take table.
+     */
+    public float minCapacityFor(ArrayList<Task> tasks, int targetValue) {
+        if (tasks == null) throw new IllegalArgumentException("Tasks cannot be null");
+
+        int maxValue = totalValue(tasks);
+        if (targetValue > maxValue) return -1;
+        if (targetValue <= 0) return 0;
+
+        int[] minTime = new int[maxValue + 1];
+        fill(tasks, minTime, null);
+
+        // Reaching "at least" the target may be cheaper through a higher value
+        int units = UNREACHABLE;
+        for (int v = targetValue; v <= maxValue; v++) {
+            units = Math.min(units, minTime[v]);
+        }
+        return Task.toHours(units);
+    }
+
+    // Sum of the productivity of tasks that can add value
+    static int totalValue(ArrayList<Task> tasks) {
+        int sum = 0;
+        for (Task task : tasks) {
+            if (task.getProductivity() > 0) sum += task.getProductivity();
+        }
+        return sum;
+    }
+
+    private static void fill(ArrayList<Task> tasks, int[] minTime, boolean[][] take) {
+        int maxValue = minTime.length - 1;
+        for (int v = 1; v <= maxValue; v++) {
+            minTime[v] = UNREACHABLE;
+        }
+
+        // Iterate backwards through value to ensure 0/1 property
+        int reachable = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            int weight = task.getDurationUnits();
+            int value = task.getProductivity();
+            if (value <= 0) continue;
+
+            reachable += value;
+            for (int v = reachable; v >= value; v--) {
+                int before = minTime[v - value];
+                if (before != UNREACHABLE && before + weight < minTime[v]) {
+                    minTime[v] = before + weight;
+                    if (take != null) take[i + 1][v] = true;
+                }
+            }
+        }
+    }
+}
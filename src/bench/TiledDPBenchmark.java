@@ -0,0 +1,68 @@
+package bench;
+
+import algorithms.Dynamic;
+import algorithms.Dynamic.DPResult;
+import model.Task;
+import util.ArrayList;
+
+import java.util.Random;
+
+/**
+ * Row-by-row vs tiled fill of Dynamic's full table at a large capacity.
+ * Both solvers go through one workspace each, so allocation is out of the
+ * timing; the first task is toggled between runs to force a full rebuild.
+ *
+ * Usage: TiledDPBenchmark [tasks] [capacityHours] [runs]
+ * (defaults 48 tasks, 1,000,000 h, 7 runs; needs about 2 × rows × columns × 4 B of heap)
+ */
+public class TiledDPBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 48;
+        float capacity = args.length > 1 ? Float.parseFloat(args[1]) : 1_000_000f;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 7;
+
+        Random random = new Random(42);
+        ArrayList<Task> tasks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            tasks.add(new Task("Task " + i, (1 + random.nextInt(40)) * 0.5f, random.nextInt(5000)));
+        }
+
+        Dynamic rowByRow = new Dynamic();
+        Dynamic tiled = new Dynamic();
+        tiled.setTiled(true);
+
+        long bestRows = Long.MAX_VALUE;
+        long bestTiled = Long.MAX_VALUE;
+        Task first = tasks.get(0);
+        for (int run = 0; run < runs; run++) {
+            first.setProductivity(first.getProductivity() ^ 1);
+            bestRows = Math.min(bestRows, time(rowByRow, tasks, capacity));
+            bestTiled = Math.min(bestTiled, time(tiled, tasks, capacity));
+        }
+
+        DPResult expected = rowByRow.solveIncremental(tasks, capacity, false);
+        DPResult actual = tiled.solveIncremental(tasks, capacity, false);
+        long mismatches = 0;
+        for (int r = 0; r < expected.rows(); r++) {
+            for (int c = 0; c < expected.columns(); c++) {
+                if (expected.value(r, c) != actual.value(r, c) || expected.taken(r, c) != actual.taken(r, c)) {
+                    mismatches++;
+                }
+            }
+        }
+
+        System.out.printf("%d tasks x %d columns, %s cells%n",
+            n, expected.columns(), rowByRow.getCellWidth().name().toLowerCase());
+        System.out.printf("row by row: %.1f ms%n", bestRows / 1e6);
+        System.out.printf("tiled:      %.1f ms (%.2fx)%n", bestTiled / 1e6, (double) bestRows / bestTiled);
+        System.out.println(mismatches == 0 ? "tables identical" : mismatches + " cells differ");
+    }
+
+    // One full rebuild (the caller changed the first task since the last one)
+    private static long time(Dynamic solver, ArrayList<Task> tasks, float capacity) {
+        long start = System.nanoTime();
+        solver.solveIncremental(tasks, capacity, false);
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,71 @@
+package bench;
+
+import algorithms.Dynamic;
+import algorithms.Dynamic.DPResult;
+import model.Task;
+import util.ArrayList;
+
+import java.util.Random;
+
+/**
+ * fillRow vs the branch-free fillRowVector kernel over Dynamic's full table.
+ * Both solvers go through one workspace each, so allocation is out of the
+ * timing; the first task is toggled between runs to force a full rebuild.
+ * The value bound picks the cell width: small values give short cells,
+ * large ones int cells.
+ *
+ * Usage: VectorDPBenchmark [tasks] [capacityHours] [maxValue] [runs]
+ * (defaults 48 tasks, 200,000 h, 5000, 9 runs; needs about 2 × rows × columns × 4 B of heap)
+ */
+public class VectorDPBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 48;
+        float capacity = args.length > 1 ? Float.parseFloat(args[1]) : 200_000f;
+        int maxValue = args.length > 2 ? Integer.parseInt(args[2]) : 5000;
+        int runs = args.length > 3 ? Integer.parseInt(args[3]) : 9;
+
+        Random random = new Random(42);
+        ArrayList<Task> tasks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            tasks.add(new Task("Task " + i, (1 + random.nextInt(40)) * 0.5f, 1 + random.nextInt(maxValue)));
+        }
+
+        Dynamic scalar = new Dynamic();
+        Dynamic vector = new Dynamic();
+        vector.setVectorKernel(true);
+
+        long bestScalar = Long.MAX_VALUE;
+        long bestVector = Long.MAX_VALUE;
+        Task first = tasks.get(0);
+        for (int run = 0; run < runs; run++) {
+            first.setProductivity(first.getProductivity() ^ 1);
+            bestScalar = Math.min(bestScalar, time(scalar, tasks, capacity));
+            bestVector = Math.min(bestVector, time(vector, tasks, capacity));
+        }
+
+        DPResult expected = scalar.solveIncremental(tasks, capacity, false);
+        DPResult actual = vector.solveIncremental(tasks, capacity, false);
+        long mismatches = 0;
+        for (int r = 0; r < expected.rows(); r++) {
+            for (int c = 0; c < expected.columns(); c++) {
+                if (expected.value(r, c) != actual.value(r, c) || expected.taken(r, c) != actual.taken(r, c)) {
+                    mismatches++;
+                }
+            }
+        }
+
+        System.out.printf("%d tasks x %d columns, %s cells%n",
+            n, expected.columns(), scalar.getCellWidth().name().toLowerCase());
+        System.out.printf("fillRow:       %.1f ms%n", bestScalar / 1e6);
+        System.out.printf("fillRowVector: %.1f ms (%.2fx)%n", bestVector / 1e6, (double) bestScalar / bestVector);
+        System.out.println(mismatches == 0 ? "tables identical" : mismatches + " cells differ");
+    }
+
+    // One full rebuild (the caller changed the first task since the last one)
+    private static long time(Dynamic solver, ArrayList<Task> tasks, float capacity) {
+        long start = System.nanoTime();
+        solver.solveIncremental(tasks, capacity, false);
+        return System.nanoTime() - start;
+    }
+}
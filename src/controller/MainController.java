@@ -2,17 +2,21 @@ package controller;
 
 import javafx.animation.FadeTransition;
 import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.scene.input.KeyCode;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
 import model.Task;
+import model.TaskList;
 import service.SchedulerService;
 import service.TaskService;
 import ui.UIBuilder;
 import util.ArrayList;
+import util.CancellationToken;
 import util.DialogHelper;
 
 public class MainController {
@@ -21,7 +25,7 @@ public class MainController {
     private Scene scene;
     private BorderPane rootLayout;
 
-    private final ArrayList<Task> allTasks = new ArrayList<>();
+    private final TaskList allTasks = new TaskList();
 
     private final TaskService taskService;
     private final SchedulerService schedulerService;
@@ -41,6 +45,9 @@ public class MainController {
 
     private PauseTransition filterDebounce;
 
+    // Anytime run in progress; cancelled when another run starts
+    private CancellationToken schedulerRun;
+
     public MainController(Stage stage) {
         this.primaryStage = stage;
         this.taskService = new TaskService(allTasks);
@@ -85,6 +92,8 @@ public class MainController {
                     case R -> runScheduler();
                     default -> {}
                 }
+            } else if (e.getCode() == KeyCode.ESCAPE) {
+                cancelScheduler();
             }
         });
     }
@@ -106,7 +115,9 @@ public class MainController {
         } else {
             hoursField.setText(formatDuration(result.capacity));
             refreshList();
-            statusLabel.setText("Loaded " + result.count + " tasks");
+            statusLabel.setText(String.format("Loaded %d tasks (%d distinct names, %.1f MB saved by sharing, %d-minute steps)",
+                result.count, result.names.distinctNames, result.names.savedBytes / (1024.0 * 1024.0),
+                result.granularityMinutes));
         }
     }
 
@@ -138,8 +149,8 @@ public class MainController {
         }
 
         float capacity = Float.parseFloat(input);
-        if (capacity % 0.5f != 0) {
-            statusLabel.setText("Capacity must be in 0.5 increments");
+        if (!Task.isMultipleOf(capacity, getGranularityMinutes())) {
+            statusLabel.setText("Capacity must be in " + getGranularityMinutes() + "-minute increments");
             return;
         }
 
@@ -148,10 +159,62 @@ public class MainController {
             return;
         }
 
+        cancelScheduler();
         statusLabel.setText("Running...");
 
-        SchedulerService.SchedulerResult result = schedulerService.execute(allTasks, capacity);
+        // The solvers get the list as of now; edits made meanwhile start a new version
+        TaskList.Snapshot snapshot = allTasks.snapshot();
+        if (schedulerService.prefersAnytime(snapshot, capacity)) {
+            runAnytime(snapshot, capacity);
+            return;
+        }
+
+        SchedulerService.SchedulerResult result = schedulerService.execute(snapshot, capacity);
+        showResult(result);
+        statusLabel.setText("Optimization Complete");
+    }
+
+    /**
+     * Solves on a background thread and refreshes the result cards each time
+     * a better schedule comes in (greedy first, within milliseconds).
+     * The worker solves its own copy of the snapshot, so editing, deleting or
+     * reordering tasks meanwhile can't race with it.
+     */
+    private void runAnytime(TaskList.Snapshot snapshot, float capacity) {
+        CancellationToken token = new CancellationToken();
+        schedulerRun = token;
+
+        Thread worker = new Thread(() -> {
+            try {
+                ArrayList<Task> tasks = snapshot.toArrayList();
+                schedulerService.executeAnytime(tasks, capacity, token, result -> Platform.runLater(() -> {
+                    if (token.shouldStop()) return;
+                    showResult(result);
+                    // Still shown, but say the list has moved on since Run
+                    String stale = allTasks.version() != snapshot.version() ? " (tasks changed since Run)" : "";
+                    if (result.complete) {
+                        schedulerRun = null;
+                        statusLabel.setText("Optimization Complete" + stale);
+                    } else {
+                        statusLabel.setText("Improving..." + stale + " (Esc to stop)");
+                    }
+                }));
+            } catch (RuntimeException ex) {
+                Platform.runLater(() -> statusLabel.setText("Scheduler Error: " + ex.getMessage()));
+            }
+        }, "anytime-scheduler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void cancelScheduler() {
+        if (schedulerRun == null) return;
+        schedulerRun.cancel();
+        schedulerRun = null;
+        statusLabel.setText("Scheduler Stopped");
+    }
 
+    private void showResult(SchedulerService.SchedulerResult result) {
         dpValueLabel.setText(String.valueOf(result.dpValue));
         dpTimeLabel.setText(result.dpTimeLabel);
         greedyValueLabel.setText(String.valueOf(result.greedyValue));
@@ -159,8 +222,6 @@ public class MainController {
 
         resultsArea.setText(result.logs);
         vizContainer.setContent(result.vizNode);
-
-        statusLabel.setText("Optimization Complete");
     }
 
     public void showAddTaskDialog() {
@@ -245,13 +306,20 @@ public class MainController {
         return taskListView.getSelectionModel().getSelectedItem();
     }
 
-    public ArrayList<Task> getAllTasks() { return allTasks; }
+    public TaskList getAllTasks() { return allTasks; }
     public Stage getPrimaryStage() { return primaryStage; }
+    public SchedulerService getSchedulerService() { return schedulerService; }
 
     public String formatDuration(float d) {
-        return d == (long) d ? String.format("%d", (long) d) : String.valueOf(d);
+        if (d == (long) d) return String.format("%d", (long) d);
+        String s = String.format("%.2f", d);
+        return s.endsWith("0") ? s.substring(0, s.length() - 1) : s;
     }
 
+    // Time step task durations and the capacity must be multiples of (5, 15, 30, ... minutes)
+    public int getGranularityMinutes() { return taskService.getGranularityMinutes(); }
+    public void setGranularityMinutes(int minutes) { taskService.setGranularityMinutes(minutes); }
+
     // Setters for UI components
     public void setHoursField(TextField f) { this.hoursField = f; }
     public void setSearchField(TextField f) { this.searchField = f; }
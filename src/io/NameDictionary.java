@@ -0,0 +1,111 @@
+package io;
+
+/**
+ * Hands out one shared String per distinct task name while a file is read.
+ * Imported archives repeat a few names ("Email", "Standup") thousands of
+ * times; without this every Task kept its own copy alive.
+ *
+ * Names are looked up straight from the line being parsed, so a repeated
+ * name costs a hash and a compare, not a substring.
+ * Open addressing with linear probing over a power-of-two table.
+ */
+public class NameDictionary {
+
+    // Per-String heap cost on a 64-bit JVM with compressed oops and compact
+    // strings: the String object plus its byte[] header (the bytes come on top)
+    private static final int STRING_BYTES = 24;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private String[] names = new String[64];
+    private int[] hashes = new int[64];
+    private int size;
+    private long lookups;
+    private long savedBytes;
+
+    // Snapshot of the counters, e.g. for a status line after loading
+    public static class Stats {
+        public final int distinctNames;
+        public final long lookups;
+        public final long savedBytes; // heap the repeated names would have held as copies
+
+        public Stats(int distinctNames, long lookups, long savedBytes) {
+            this.distinctNames = distinctNames;
+            this.lookups = lookups;
+            this.savedBytes = savedBytes;
+        }
+
+        public long sharedNames() { return lookups - distinctNames; }
+    }
+
+    public String intern(String name) {
+        return intern(name, 0, name.length());
+    }
+
+    // The shared String equal to text[from, to), created on first sight
+    public String intern(CharSequence text, int from, int to) {
+        lookups++;
+        int hash = 0;
+        boolean latin1 = true;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            hash = 31 * hash + c;
+            latin1 &= c <= 0xFF;
+        }
+
+        int mask = names.length - 1;
+        int slot = mix(hash) & mask;
+        for (String name; (name = names[slot]) != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && matches(name, text, from, to)) {
+                savedBytes += copyBytes(to - from, latin1);
+                return name;
+            }
+        }
+
+        String name = text.subSequence(from, to).toString();
+        names[slot] = name;
+        hashes[slot] = hash;
+        // Keep the table at most half full
+        if (++size * 2 > names.length) rehash();
+        return name;
+    }
+
+    public int size() { return size; }
+
+    public Stats stats() {
+        return new Stats(size, lookups, savedBytes);
+    }
+
+    private static boolean matches(String name, CharSequence text, int from, int to) {
+        if (name.length() != to - from) return false;
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != text.charAt(from + i)) return false;
+        }
+        return true;
+    }
+
+    // Heap of one String of this many chars (1 byte each if Latin-1, else 2)
+    private static long copyBytes(int length, boolean latin1) {
+        long array = ARRAY_HEADER_BYTES + (long) length * (latin1 ? 1 : 2);
+        return STRING_BYTES + ((array + 7) & ~7L);
+    }
+
+    // Spreads the high bits of String-style hashes into the low ones used as the slot
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private void rehash() {
+        String[] oldNames = names;
+        int[] oldHashes = hashes;
+        names = new String[oldNames.length * 2];
+        hashes = new int[oldNames.length * 2];
+        int mask = names.length - 1;
+        for (int i = 0; i < oldNames.length; i++) {
+            if (oldNames[i] == null) continue;
+            int slot = mix(oldHashes[i]) & mask;
+            while (names[slot] != null) slot = (slot + 1) & mask;
+            names[slot] = oldNames[i];
+            hashes[slot] = oldHashes[i];
+        }
+    }
+}
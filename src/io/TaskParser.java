@@ -1,6 +1,7 @@
 package io;
 
 import model.Task;
+import model.TaskList;
 import util.ArrayList;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
@@ -10,21 +11,26 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 
 public class TaskParser {
-    
+
     // Simple data class instead of record
     public static class ParseResult {
         public ArrayList<Task> tasks;
         public float capacity;
+        // How much the shared task names saved (see NameDictionary)
+        public NameDictionary.Stats names;
         
-        public ParseResult(ArrayList<Task> tasks, float capacity) {
+        public ParseResult(ArrayList<Task> tasks, float capacity, NameDictionary.Stats names) {
             this.tasks = tasks;
             this.capacity = capacity;
+            this.names = names;
         }
     }
     
     public ParseResult parse(Path path) throws IOException {
         ArrayList<Task> tasks = new ArrayList<>();
         float capacity;
+        // Repeated names share one String; dropped once the file is read
+        NameDictionary names = new NameDictionary();
         
         try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
             String line;
@@ -51,8 +57,8 @@ public class TaskParser {
             }
             try {
                 capacity = Float.parseFloat(line.trim());
-                if ((capacity % 0.5f) > 0.001f && (capacity % 0.5f) < 0.499f) {
-                    throw new IOException("Capacity must be in 0.5 increments");
+                if (!Task.isMultipleOf(capacity, Task.TICK_MINUTES)) {
+                    throw new IOException("Capacity must be in " + Task.TICK_MINUTES + "-minute increments");
                 }
             } catch (NumberFormatException e) {
                 throw new IOException("Invalid capacity on line 2: " + line);
@@ -83,18 +89,19 @@ public class TaskParser {
                 if (firstComma == -1 || secondComma == -1)
                     throw new IOException("Invalid format at line " + lineNo + ": expected 3 fields");
                 
-                String namePart = line.substring(0, firstComma).trim();
                 String timeStr = line.substring(firstComma + 1, secondComma).trim();
                 String valStr = line.substring(secondComma + 1).trim();
                 
-                String name = unquote(namePart);
+                String name = readName(names, line, firstComma);
                 
                 float time;
                 int value;
                 try {
                     time = Float.parseFloat(timeStr);
-                    if ((time % 0.5f) > 0.001f && (time % 0.5f) < 0.499f) {
-                        throw new IOException("Invalid duration at line " + lineNo + ": must be in 0.5 increments");
+                    // Any step a Task can hold; the caller sees the step the file uses
+                    if (!Task.isMultipleOf(time, Task.TICK_MINUTES)) {
+                        throw new IOException("Invalid duration at line " + lineNo + ": must be in "
+                            + Task.TICK_MINUTES + "-minute increments");
                     }
                     value = Integer.parseInt(valStr);
                 } catch (NumberFormatException e) {
@@ -107,10 +114,11 @@ public class TaskParser {
                 throw new IOException("Expected " + expectedTasks + " tasks but found " + tasks.size());
             }
         }
-        return new ParseResult(tasks, capacity);
+        return new ParseResult(tasks, capacity, names.stats());
     }
 
-    public void save(ArrayList<Task> tasks, float capacity, Path path) throws IOException {
+    // Reads the list in place: no snapshot, so the next edit doesn't copy it
+    public void save(TaskList tasks, float capacity, Path path) throws IOException {
         try (BufferedWriter bw = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
             // Line 1: Task count
             bw.write(String.valueOf(tasks.size()));
@@ -144,6 +152,19 @@ public class TaskParser {
         return f == (int) f ? String.valueOf((int) f) : String.valueOf(f);
     }
 
+    // The name field line[0, end), trimmed and unquoted, as its shared instance
+    private static String readName(NameDictionary names, String line, int end) {
+        int start = 0;
+        while (start < end && line.charAt(start) <= ' ') start++;
+        while (end > start && line.charAt(end - 1) <= ' ') end--;
+
+        // Plain names are looked up in place; only quoted ones need a copy to unescape
+        if (end - start >= 2 && line.charAt(start) == '"' && line.charAt(end - 1) == '"') {
+            return names.intern(unquote(line.substring(start, end)));
+        }
+        return names.intern(line, start, end);
+    }
+
     private static String unquote(String s) {
         if (s.length() >= 2 && s.startsWith("\"") && s.endsWith("\"")) {
             return s.substring(1, s.length() - 1).replace("\"\"", "\"");
@@ -1,10 +1,19 @@
 package model;
 
 public class Task {
+
+    // Durations are stored in ticks of TICK_MINUTES, the finest granularity
+    // any input may use. Capacity-indexed solvers don't pay for it: they size
+    // their tables by the step all durations share (see algorithms.TimeScale).
+    public static final int TICK_MINUTES = 5;
+    public static final int TICKS_PER_HOUR = 60 / TICK_MINUTES;
+    // Granularity inputs are checked against unless configured otherwise
+    public static final int DEFAULT_GRANULARITY_MINUTES = 30;
+
     private String name;
-    // Optimization: Store duration as half-hour units (short)
-    // 1.5 hours -> 3 units. Max duration: ~16,000 hours (plenty)
-    private short durationUnits; 
+    // Duration as 5-minute ticks: 1.5 hours -> 18 ticks.
+    // An int next to the short below still packs into the same 24-byte object.
+    private int durationUnits; 
     // Optimization: Store productivity as short (assuming < 32,767)
     private short productivity;
 
@@ -19,16 +28,35 @@ public class Task {
 
     public float getDuration() { 
         // Convert internal unit back to float for UI/Interface compatibility
-        return durationUnits / 2.0f; 
+        return toHours(durationUnits); 
     }
     
     public void setDuration(float duration) { 
-        // Store as half-hour units
-        this.durationUnits = (short) Math.round(duration * 2); 
+        // Store as ticks
+        this.durationUnits = toUnits(duration); 
     }
     
-    // Internal optimization accessor
-    public short getDurationUnits() { return durationUnits; }
+    // Internal optimization accessor: duration in ticks
+    public int getDurationUnits() { return durationUnits; }
+
+    // Hours -> ticks, rounded to the nearest tick
+    public static int toUnits(float hours) {
+        return (int) Math.round(hours * (double) TICKS_PER_HOUR);
+    }
+
+    public static float toHours(long units) {
+        return units / (float) TICKS_PER_HOUR;
+    }
+
+    /**
+     * Whether hours is a whole number of granularity-minute steps, allowing
+     * for the rounding of decimal input (0.0833h counts as 5 minutes).
+     */
+    public static boolean isMultipleOf(float hours, int granularityMinutes) {
+        double minutes = hours * 60.0;
+        double steps = Math.rint(minutes / granularityMinutes);
+        return Math.abs(minutes - steps * granularityMinutes) < 0.05;
+    }
 
     public int getProductivity() { return productivity; }
     
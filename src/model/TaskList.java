@@ -0,0 +1,190 @@
+package model;
+
+import util.ArrayList;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The user's task list, edited on the UI thread, from which solvers on
+ * other threads take immutable snapshots.
+ *
+ * Copy-on-write: snapshot() hands out the current array in O(1) and marks it
+ * shared; the next edit copies it once before changing anything, so a
+ * snapshot never sees later edits and edits between snapshots cost what
+ * they would in an ArrayList. The Tasks themselves are not copied, so they
+ * must not be changed in place while listed: edits go through replace().
+ *
+ * Iterating the list itself reads the live array without sharing it and
+ * fails fast if the list changes meanwhile; only snapshot() shares.
+ *
+ * Every change gives the list a new version, unique across all lists, so a
+ * result can be checked against the list it came from and the scheduler can
+ * skip work for a version it has already seen (see SchedulerService).
+ */
+public final class TaskList implements Iterable<Task> {
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private Task[] tasks = new Task[10];
+    private int size;
+    private long version = VERSIONS.incrementAndGet();
+    // The array is referenced by a snapshot; copy before the next change
+    private boolean shared;
+
+    /**
+     * Read-only view of the list as it was at one version.
+     */
+    public static final class Snapshot implements Iterable<Task> {
+        private final Task[] tasks;
+        private final int size;
+        private final long version;
+
+        private Snapshot(Task[] tasks, int size, long version) {
+            this.tasks = tasks;
+            this.size = size;
+            this.version = version;
+        }
+
+        public long version() { return version; }
+        public int size() { return size; }
+        public boolean isEmpty() { return size == 0; }
+
+        public Task get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            return tasks[index];
+        }
+
+        // A fresh list for the solvers' ArrayList entry points
+        public ArrayList<Task> toArrayList() {
+            ArrayList<Task> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) list.add(tasks[i]);
+            return list;
+        }
+
+        @Override
+        public Iterator<Task> iterator() { return new Itr(tasks, size, null, version); }
+    }
+
+    public Snapshot snapshot() {
+        shared = true;
+        return new Snapshot(tasks, size, version);
+    }
+
+    public long version() { return version; }
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public Task get(int index) {
+        rangeCheck(index);
+        return tasks[index];
+    }
+
+    public int indexOf(Task task) {
+        for (int i = 0; i < size; i++) {
+            if (tasks[i] == task) return i;
+        }
+        return -1;
+    }
+
+    public void add(Task task) {
+        add(size, task);
+    }
+
+    public void add(int index, Task task) {
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        prepareWrite(size + 1);
+        System.arraycopy(tasks, index, tasks, index + 1, size - index);
+        tasks[index] = task;
+        size++;
+        changed();
+    }
+
+    public void addAll(ArrayList<Task> other) {
+        if (other.isEmpty()) return;
+        prepareWrite(size + other.size());
+        for (Task t : other) tasks[size++] = t;
+        changed();
+    }
+
+    public boolean remove(Task task) {
+        int index = indexOf(task);
+        if (index < 0) return false;
+        prepareWrite(size);
+        System.arraycopy(tasks, index + 1, tasks, index, size - index - 1);
+        tasks[--size] = null;
+        changed();
+        return true;
+    }
+
+    /**
+     * Puts updated in the place of task (an edit); snapshots keep the old
+     * object. Returns false if task is not in the list.
+     */
+    public boolean replace(Task task, Task updated) {
+        int index = indexOf(task);
+        if (index < 0) return false;
+        prepareWrite(size);
+        tasks[index] = updated;
+        changed();
+        return true;
+    }
+
+    public void clear() {
+        if (size == 0) return;
+        // Nothing to copy: start over rather than clearing a shared array
+        tasks = new Task[10];
+        size = 0;
+        shared = false;
+        changed();
+    }
+
+    // Over the live array without sharing it; fails fast if the list is edited meanwhile
+    @Override
+    public Iterator<Task> iterator() { return new Itr(tasks, size, this, version); }
+
+    // Makes the array private to this list with room for 'needed' tasks
+    private void prepareWrite(int needed) {
+        if (!shared && needed <= tasks.length) return;
+        int length = needed <= tasks.length ? tasks.length : Math.max(needed, tasks.length + (tasks.length >> 1));
+        Task[] copy = new Task[length];
+        System.arraycopy(tasks, 0, copy, 0, size);
+        tasks = copy;
+        shared = false;
+    }
+
+    private void changed() {
+        version = VERSIONS.incrementAndGet();
+    }
+
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private static final class Itr implements Iterator<Task> {
+        private final Task[] tasks;
+        private final int size;
+        private final TaskList list; // null for a snapshot, which can't change
+        private final long version;
+        private int next;
+
+        Itr(Task[] tasks, int size, TaskList list, long version) {
+            this.tasks = tasks;
+            this.size = size;
+            this.list = list;
+            this.version = version;
+        }
+
+        @Override
+        public boolean hasNext() { return next < size; }
+
+        @Override
+        public Task next() {
+            if (list != null && list.version != version) throw new ConcurrentModificationException();
+            if (next >= size) throw new NoSuchElementException();
+            return tasks[next++];
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package model;
+
+import util.ArrayList;
+
+import java.util.Arrays;
+
+/**
+ * Column-wise copy of a task list for the solvers: durations (ticks) and
+ * productivities in parallel arrays, plus the Task each row came from so
+ * results can still hand back the user's objects.
+ *
+ * A solver's per-task loop then reads two primitive arrays front to back
+ * instead of following a reference to a separate Task object per row.
+ * This buys locality, not memory: the Tasks stay reachable, and the columns
+ * add about 10 bytes per row (int, short, reference) on top of them, so keep
+ * one table per owner (see SolverWorkspace.taskTable) rather than copies.
+ *
+ * Task setters don't notify anyone, so the table is brought up to date by
+ * calling sync() with the list before each solve; it reuses its arrays.
+ * Synced from a TaskList snapshot, the table carries the snapshot's version,
+ * and syncing the same version again is free.
+ */
+public final class TaskTable {
+
+    // Compressed oops, the default below 32 GB of heap
+    private static final int REFERENCE_BYTES = 4;
+    // version() of a table synced from a plain list, whose changes can't be told apart
+    public static final long UNVERSIONED = -1;
+
+    private Task[] tasks = new Task[0];
+    private int[] durationUnits = new int[0];
+    private short[] productivities = new short[0];
+    private int size;
+    private long version = UNVERSIONED;
+
+    public TaskTable() {
+    }
+
+    // Table holding the current state of the list
+    public static TaskTable of(ArrayList<Task> tasks) {
+        return new TaskTable().sync(tasks);
+    }
+
+    /**
+     * Re-reads every task of the list into the columns, growing them if the
+     * list got longer. Returns this table.
+     */
+    public TaskTable sync(ArrayList<Task> list) {
+        if (list == null) throw new IllegalArgumentException("Tasks cannot be null");
+        return load(list, list.size(), UNVERSIONED);
+    }
+
+    /**
+     * Same for a snapshot; a no-op when the table already holds its version
+     * (snapshot Tasks are never edited in place, see TaskList).
+     */
+    public TaskTable sync(TaskList.Snapshot snapshot) {
+        if (snapshot == null) throw new IllegalArgumentException("Tasks cannot be null");
+        if (snapshot.version() == version) return this;
+        return load(snapshot, snapshot.size(), snapshot.version());
+    }
+
+    private TaskTable load(Iterable<Task> list, int n, long version) {
+        if (durationUnits.length < n) {
+            int length = Math.max(n, durationUnits.length + (durationUnits.length >> 1));
+            tasks = new Task[length];
+            durationUnits = new int[length];
+            productivities = new short[length];
+        } else if (n < size) {
+            // Don't keep removed tasks alive
+            Arrays.fill(tasks, n, size, null);
+        }
+
+        int i = 0;
+        for (Task t : list) {
+            tasks[i] = t;
+            durationUnits[i] = t.getDurationUnits();
+            productivities[i] = (short) t.getProductivity();
+            i++;
+        }
+        size = n;
+        this.version = version;
+        return this;
+    }
+
+    public int size() { return size; }
+    // Version of the snapshot the columns hold, or UNVERSIONED
+    public long version() { return version; }
+    public boolean isEmpty() { return size == 0; }
+
+    // The Task row i was read from (its fields may have changed since the last sync)
+    public Task task(int i) { return tasks[i]; }
+    public int durationUnits(int i) { return durationUnits[i]; }
+    public int productivity(int i) { return productivities[i]; }
+
+    // Same value Task.getDuration() gave at sync time
+    public float duration(int i) { return Task.toHours(durationUnits[i]); }
+
+    // Drops the columns (e.g. after one unusually large list)
+    public void clear() {
+        tasks = new Task[0];
+        durationUnits = new int[0];
+        productivities = new short[0];
+        size = 0;
+        version = UNVERSIONED;
+    }
+
+    // Heap held by the columns themselves (not the Task objects)
+    public long retainedBytes() {
+        return (long) durationUnits.length * (Integer.BYTES + Short.BYTES + REFERENCE_BYTES);
+    }
+}
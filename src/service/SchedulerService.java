@@ -1,49 +1,207 @@
 package service;
 
+import algorithms.BoundedDynamic;
+import algorithms.BranchAndBound;
+import algorithms.CapacitySweep;
+import algorithms.CoreSolver;
 import algorithms.Dynamic;
 import algorithms.Dynamic.DPResult;
+import algorithms.Dynamic1D;
+import algorithms.Fptas;
 import algorithms.Greedy;
 import algorithms.Greedy.GreedyResult;
+import algorithms.MeetInTheMiddle;
+import algorithms.Reduction;
+import algorithms.SolverWorkspace;
+import algorithms.SparseDynamic;
+import algorithms.TimeScale;
+import algorithms.ValueDynamic;
 import javafx.scene.Node;
 import model.Task;
+import model.TaskList;
+import model.TaskTable;
 import util.ArrayList;
+import util.CancellationToken;
 import util.TableRenderer;
 
+import java.util.function.Consumer;
+
 public class SchedulerService {
 
+    // Tables above this many cells (~80 MB) are worth an anytime run in the UI
+    private static final long ANYTIME_CELL_THRESHOLD = 20_000_000L;
+    // Rough cost of one enumerated subset (sums, sort, binary search) in DP cells per task
+    private static final int SUBSET_COST_IN_CELLS = 16;
+
+    // How DP rows are filled. All modes produce the same table.
+    // VECTOR fills TABLE rows with the branch-free kernel: about 1.15x faster
+    // than SEQUENTIAL on int cells, level on short ones (VectorDPBenchmark).
+    // (Dynamic's tiled fill is left out until TiledDPBenchmark shows a gain.)
+    public enum DPMode { SEQUENTIAL, PARALLEL, VECTOR }
+
+    // Which exact solver fills the optimal card.
+    // TABLE keeps the full n×W table for the visualization;
+    // LINEAR_SPACE returns the same tasks from O(W log n) memory;
+    // SPARSE keeps only non-dominated (time, value) states;
+    // VALUE_INDEXED stores the minimum time per total value;
+    // AUTO picks MEET_IN_MIDDLE for a few tasks with a huge capacity,
+    // otherwise TABLE or VALUE_INDEXED, whichever table is smaller,
+    // and BOUNDED when grouping copies at least halves the rows;
+    // FPTAS trades accuracy for speed within fptasEpsilon;
+    // CORE runs DP only on the tasks around the greedy break item;
+    // BOUNDED groups identical tasks and solves one row per bundle of copies;
+    // MEET_IN_MIDDLE enumerates subsets of two halves, independent of capacity;
+    // BRANCH_AND_BOUND searches within a node/time budget and reports its gap.
+    public enum Strategy {
+        TABLE, LINEAR_SPACE, SPARSE, VALUE_INDEXED, AUTO, FPTAS, CORE, BOUNDED, MEET_IN_MIDDLE, BRANCH_AND_BOUND
+    }
+
+    // Where TABLE keeps its table: HEAP reuses rows across runs; OFF_HEAP puts it
+    // in native memory and MAPPED_FILE in a memory-mapped temp file (for tables
+    // larger than RAM). Off-heap tables are freed as soon as they are rendered.
+    public enum TableStorage { HEAP, OFF_HEAP, MAPPED_FILE }
+
+    private DPMode dpMode = DPMode.SEQUENTIAL;
+    private Strategy strategy = Strategy.AUTO;
+    private TableStorage tableStorage = TableStorage.HEAP;
+    // FPTAS result is guaranteed to be at least (1 - epsilon) of the optimum
+    private double fptasEpsilon = 0.1;
+    // Shrink the task list (see Reduction) before the exact solver runs.
+    // The table view and the capacity sweep then describe the reduced problem.
+    private boolean reduceTasks = false;
+    // Branch-and-bound stops at whichever budget runs out first (<= 0: no limit)
+    private long bnbNodeBudget = 50_000_000L;
+    private long bnbTimeBudgetMs = 2000;
+    // Anytime runs publish their last schedule after this long (<= 0: until cancelled)
+    private long anytimeDeadlineMs = 5000;
+    // Greedy pops tasks off a heap until the day is full instead of sorting
+    // them all; both give the same schedule
+    private boolean lazyGreedy = true;
+
+    // Buffers shared by the solvers below and kept across runs, so a re-run
+    // allocates little more than its result (execute() is not thread-safe)
+    private final SolverWorkspace workspace = new SolverWorkspace();
+    // Kept across runs so unchanged prefix rows are reused on the next Run
+    private final Dynamic dpSolver = new Dynamic(workspace);
+    private final Greedy greedySolver = new Greedy(workspace);
+    // List the workspace's TaskTable was last synced to in this run, and that table (see columnsOf)
+    private ArrayList<Task> syncedTasks;
+    private TaskTable syncedColumns;
+    // Snapshot this run's top-level list was copied from; null for a plain list
+    private TaskList.Snapshot runSnapshot;
+    private ArrayList<Task> runTasks;
+
+    // Last execute(snapshot) result, returned again while the version,
+    // capacity and settings stay the same; null after any setter
+    private SchedulerResult lastResult;
+    private long lastResultVersion = TaskTable.UNVERSIONED;
+    private float lastResultCapacity;
+
+    // What-if view over the last table; null until a TABLE run or sweep()
+    private CapacitySweep lastSweep;
+    // TaskList version the sweep was solved for, or UNVERSIONED
+    private long lastSweepVersion = TaskTable.UNVERSIONED;
+
+    // Common shape of the exact solvers' answers, so labels and logs
+    // don't depend on which solver produced them.
+    private static class Solution {
+        final String method;
+        final String detail; // extra log line, may be null
+        final ArrayList<Task> chosen;
+        final float totalTime;
+        final long totalValue;
+        final long upperBound; // proven bound on the optimum; equals totalValue for exact solvers
+        final DPResult table; // null when the solver keeps no table
+
+        Solution(String method, String detail, ArrayList<Task> chosen,
+                 float totalTime, long totalValue, DPResult table) {
+            this(method, detail, chosen, totalTime, totalValue, totalValue, table);
+        }
+
+        Solution(String method, String detail, ArrayList<Task> chosen,
+                 float totalTime, long totalValue, long upperBound, DPResult table) {
+            this.method = method;
+            this.detail = detail;
+            this.chosen = chosen;
+            this.totalTime = totalTime;
+            this.totalValue = totalValue;
+            this.upperBound = upperBound;
+            this.table = table;
+        }
+    }
+
     // Simple data class instead of record
     public static class SchedulerResult {
-        public int dpValue;
+        public long dpValue;
         public String dpTimeLabel;
         public int greedyValue;
         public String greedyTimeLabel;
         public String logs;
         public Node vizNode;
+        // false while an anytime run may still publish a better schedule
+        public boolean complete;
         
-        public SchedulerResult(int dpValue, String dpTimeLabel, 
+        public SchedulerResult(long dpValue, String dpTimeLabel, 
                                int greedyValue, String greedyTimeLabel,
                                String logs, Node vizNode) {
+            this(dpValue, dpTimeLabel, greedyValue, greedyTimeLabel, logs, vizNode, true);
+        }
+
+        public SchedulerResult(long dpValue, String dpTimeLabel,
+                               int greedyValue, String greedyTimeLabel,
+                               String logs, Node vizNode, boolean complete) {
             this.dpValue = dpValue;
             this.dpTimeLabel = dpTimeLabel;
             this.greedyValue = greedyValue;
             this.greedyTimeLabel = greedyTimeLabel;
             this.logs = logs;
             this.vizNode = vizNode;
+            this.complete = complete;
         }
     }
 
     public SchedulerResult execute(ArrayList<Task> tasks, float capacity) {
+        startRun(null, tasks);
+        return run(tasks, capacity);
+    }
+
+    /**
+     * execute() over a TaskList snapshot. Running the same version at the
+     * same capacity and settings again returns the previous result without
+     * solving; otherwise the task columns are only re-read if the version
+     * changed, and the DP table is reused whole when it still matches it.
+     */
+    public SchedulerResult execute(TaskList.Snapshot snapshot, float capacity) {
+        if (lastResult != null && lastResultVersion == snapshot.version()
+                && Float.compare(lastResultCapacity, capacity) == 0) {
+            return lastResult;
+        }
+        ArrayList<Task> tasks = snapshot.toArrayList();
+        startRun(snapshot, tasks);
+        SchedulerResult result = run(tasks, capacity);
+        lastResult = result;
+        lastResultVersion = snapshot.version();
+        lastResultCapacity = capacity;
+        return result;
+    }
+
+    private void startRun(TaskList.Snapshot snapshot, ArrayList<Task> tasks) {
+        syncedTasks = null;
+        runSnapshot = snapshot;
+        runTasks = tasks;
+    }
+
+    private SchedulerResult run(ArrayList<Task> tasks, float capacity) {
         // Run DP
         long dpStart = System.nanoTime();
-        Dynamic dpSolver = new Dynamic();
-        DPResult dpResult = dpSolver.solve(tasks, capacity);
+        Solution dpResult = solveOptimal(tasks, capacity);
         long dpEnd = System.nanoTime();
         double dpTimeMs = (dpEnd - dpStart) / 1_000_000.0;
 
         // Run Greedy
         long greedyStart = System.nanoTime();
-        Greedy greedySolver = new Greedy();
-        GreedyResult greedyResult = greedySolver.solve(tasks, capacity);
+        greedySolver.setLazy(lazyGreedy);
+        GreedyResult greedyResult = greedySolver.solve(columnsOf(tasks), capacity);
         long greedyEnd = System.nanoTime();
         double greedyTimeMs = (greedyEnd - greedyStart) / 1_000_000.0;
 
@@ -55,7 +213,13 @@ public class SchedulerService {
 
         // Build logs & visualization
         String logs = buildLogs(dpResult, greedyResult, dpTimeMs, greedyTimeMs);
-        Node vizNode = TableRenderer.renderDPTable(dpResult.dp, dpResult.take);
+        Node vizNode = dpResult.table != null
+            ? TableRenderer.renderDPTable(dpResult.table.table, Task.toHours(dpResult.table.ticksPerColumn))
+            : TableRenderer.renderPlaceholder("No DP table kept in " + dpResult.method + " mode");
+        if (dpResult.table != null && tableStorage != TableStorage.HEAP) {
+            // The grid holds its own labels, so the native table can go now
+            dpResult.table.close();
+        }
 
         return new SchedulerResult(
             dpResult.totalValue,
@@ -67,14 +231,303 @@ public class SchedulerService {
         );
     }
 
-    private String buildLogs(DPResult dpResult, GreedyResult greedyResult,
+    /**
+     * Anytime variant of execute(): publishes the greedy schedule at once, then
+     * each better schedule branch-and-bound finds, until the search is proven
+     * optimal, the token stops it or anytimeDeadlineMs passes. The last result
+     * published has complete = true; nothing more is published once the token
+     * is cancelled. Runs on the calling thread, which also receives onUpdate.
+     */
+    public void executeAnytime(ArrayList<Task> tasks, float capacity, CancellationToken token,
+                               Consumer<SchedulerResult> onUpdate) {
+        long start = System.nanoTime();
+        // Own buffers: this may run on a worker thread next to execute()
+        Greedy greedy = new Greedy();
+        greedy.setLazy(lazyGreedy);
+        GreedyResult greedyResult = greedy.solve(tasks, capacity);
+        double greedyTimeMs = (System.nanoTime() - start) / 1_000_000.0;
+        if (token.shouldStop()) return;
+
+        // Until the search has a bound, the greedy schedule is all there is
+        Solution first = new Solution("ANYTIME", "Searching for better schedules...",
+            greedyResult.chosen, greedyResult.totalTime, greedyResult.totalValue, Integer.MAX_VALUE, null);
+        onUpdate.accept(anytimeResult(first, greedyResult, capacity, greedyTimeMs, greedyTimeMs, false));
+
+        BranchAndBound.BnBResult r = new BranchAndBound().solve(tasks, capacity, 0, anytimeDeadlineMs, token, incumbent -> {
+            if (token.shouldStop()) return;
+            Solution s = new Solution("ANYTIME",
+                String.format("Nodes: %d so far, optimum <= %d", incumbent.nodes, incumbent.upperBound),
+                incumbent.chosen, incumbent.totalTime, incumbent.totalValue, incumbent.upperBound, null);
+            onUpdate.accept(anytimeResult(s, greedyResult, capacity,
+                (System.nanoTime() - start) / 1_000_000.0, greedyTimeMs, false));
+        });
+        if (token.shouldStop()) return;
+
+        String detail = r.complete
+            ? String.format("Nodes: %d (search complete)", r.nodes)
+            : String.format("Nodes: %d (stopped), optimum <= %d, gap %d", r.nodes, r.upperBound, r.gap());
+        Solution last = new Solution("ANYTIME", detail, r.chosen, r.totalTime, r.totalValue, r.upperBound, null);
+        onUpdate.accept(anytimeResult(last, greedyResult, capacity,
+            (System.nanoTime() - start) / 1_000_000.0, greedyTimeMs, true));
+    }
+
+    /**
+     * True when a blocking execute() would keep the user waiting: the capacity
+     * table alone would exceed ANYTIME_CELL_THRESHOLD cells.
+     */
+    public boolean prefersAnytime(ArrayList<Task> tasks, float capacity) {
+        return (long) (tasks.size() + 1) * TimeScale.columns(tasks, capacity) > ANYTIME_CELL_THRESHOLD;
+    }
+
+    // Same test for a snapshot; reads the workspace columns, which execute() then reuses
+    public boolean prefersAnytime(TaskList.Snapshot snapshot, float capacity) {
+        TaskTable columns = workspace.taskTable(snapshot);
+        return (long) (columns.size() + 1) * TimeScale.columns(columns, capacity) > ANYTIME_CELL_THRESHOLD;
+    }
+
+    private SchedulerResult anytimeResult(Solution solution, GreedyResult greedyResult, float capacity,
+                                          double elapsedMs, double greedyTimeMs, boolean complete) {
+        String dpTimeLabel = String.format("Time Used: %s/%sh",
+            formatDuration(solution.totalTime), formatDuration(capacity));
+        String greedyTimeLabel = String.format("Time Used: %s/%sh",
+            formatDuration(greedyResult.totalTime), formatDuration(capacity));
+        String logs = buildLogs(solution, greedyResult, elapsedMs, greedyTimeMs);
+        Node vizNode = TableRenderer.renderPlaceholder("No DP table kept in ANYTIME mode");
+        return new SchedulerResult(solution.totalValue, dpTimeLabel, greedyResult.totalValue,
+            greedyTimeLabel, logs, vizNode, complete);
+    }
+
+    private Solution solveOptimal(ArrayList<Task> tasks, float capacity) {
+        if (!reduceTasks) {
+            return solveWith(resolveStrategy(tasks, capacity), tasks, capacity);
+        }
+
+        Reduction.ReducedProblem reduced = new Reduction().reduce(tasks, capacity);
+        Solution inner = solveWith(resolveStrategy(reduced.tasks, reduced.capacity), reduced.tasks, reduced.capacity);
+        // A sweep over the reduced table would answer for the wrong problem
+        lastSweep = null;
+
+        ArrayList<Task> chosen = reduced.expand(inner.chosen);
+        float totalTime = 0;
+        long totalValue = 0;
+        for (Task t : chosen) {
+            totalTime += t.getDuration();
+            totalValue += t.getProductivity();
+        }
+        long upperBound = Math.max(reduced.getIncumbentValue(), reduced.getFixedValue() + inner.upperBound);
+
+        long bytesBefore = Dynamic.tableBytes(tasks.size() + 1, TimeScale.columns(tasks, capacity),
+            Dynamic.CellWidth.forTasks(tasks));
+        long bytesAfter = Dynamic.tableBytes(reduced.tasks.size() + 1, TimeScale.columns(reduced.tasks, reduced.capacity),
+            Dynamic.CellWidth.forTasks(reduced.tasks));
+        String summary = String.format(
+            "Reduction: %d of %d tasks eliminated (%d infeasible, %d dominated, %d fixed out, %d fixed in)%n"
+                + " DP table: %s -> %s",
+            reduced.eliminated(), reduced.originalCount, reduced.infeasible, reduced.dominated,
+            reduced.fixedOut, reduced.fixedInCount,
+            formatBytes(bytesBefore), formatBytes(bytesAfter));
+        String detail = inner.detail == null ? summary : inner.detail + "\n " + summary;
+
+        return new Solution(inner.method, detail, chosen, totalTime, totalValue, upperBound, inner.table);
+    }
+
+    private Strategy resolveStrategy(ArrayList<Task> tasks, float capacity) {
+        return strategy == Strategy.AUTO ? chooseStrategy(tasks, capacity) : strategy;
+    }
+
+    /**
+     * Subset enumeration when its 2^(n/2) subsets, at SUBSET_COST_IN_CELLS × n
+     * cells each, cost less than the n × capacity table (n cancels, so the test
+     * is 2^(n/2) × SUBSET_COST_IN_CELLS < capacity); otherwise a
+     * capacity-indexed table when capacity is the smaller dimension,
+     * value-indexed table when the total productivity is. A capacity-indexed
+     * list made mostly of copies is solved over bundles of copies instead.
+     */
+    private Strategy chooseStrategy(ArrayList<Task> tasks, float capacity) {
+        int n = tasks.size();
+        int capacityColumns = TimeScale.columns(tasks, capacity) - 1;
+        if (n <= MeetInTheMiddle.MAX_TASKS && (1L << ((n + 1) / 2)) * SUBSET_COST_IN_CELLS < capacityColumns) {
+            return Strategy.MEET_IN_MIDDLE;
+        }
+
+        long totalValue = 0;
+        for (Task t : tasks) {
+            if (t.getProductivity() > 0) totalValue += t.getProductivity();
+        }
+        if (totalValue < capacityColumns) return Strategy.VALUE_INDEXED;
+        return BoundedDynamic.countRows(tasks, capacity) * 2 <= tasks.size() ? Strategy.BOUNDED : Strategy.TABLE;
+    }
+
+    private Solution solveWith(Strategy strategy, ArrayList<Task> tasks, float capacity) {
+        return switch (strategy) {
+            case LINEAR_SPACE -> {
+                Dynamic1D.DPResult r = new Dynamic1D().solve(columnsOf(tasks), capacity);
+                yield new Solution("LINEAR_SPACE", null, r.chosen, r.totalTime, r.totalValue, null);
+            }
+            case SPARSE -> {
+                SparseDynamic.SparseResult r = new SparseDynamic().solve(tasks, capacity);
+                String detail = String.format("States: peak %d, stored %d (table: %d cells)",
+                    r.peakStates, r.storedStates, (long) (tasks.size() + 1) * TimeScale.columns(tasks, capacity));
+                yield new Solution("SPARSE", detail, r.chosen, r.totalTime, r.totalValue, null);
+            }
+            case VALUE_INDEXED -> {
+                ValueDynamic.ValueResult r = new ValueDynamic().solve(tasks, capacity);
+                String detail = String.format("Value table: %d columns instead of %d",
+                    r.minTime.length, TimeScale.columns(tasks, capacity));
+                yield new Solution("VALUE_INDEXED", detail, r.chosen, r.totalTime, r.totalValue, null);
+            }
+            case FPTAS -> {
+                Fptas.FptasResult r = new Fptas().solve(tasks, capacity, fptasEpsilon);
+                String detail = String.format("Guarantee: >= %.0f%% of optimum (ε = %.3f), optimum <= %d",
+                    (1 - r.epsilon) * 100, r.epsilon, r.upperBound);
+                yield new Solution("FPTAS", detail, r.chosen, r.totalTime, r.totalValue, r.upperBound, null);
+            }
+            case CORE -> {
+                CoreSolver.CoreResult r = new CoreSolver().solve(tasks, capacity);
+                String detail = String.format("Core: %d of %d tasks (%d round%s)",
+                    r.coreSize, tasks.size(), r.rounds, r.rounds == 1 ? "" : "s");
+                yield new Solution("CORE", detail, r.chosen, r.totalTime, r.totalValue, null);
+            }
+            case BOUNDED -> {
+                BoundedDynamic.BoundedResult r = new BoundedDynamic().solve(tasks, capacity);
+                String detail = String.format("Groups: %d distinct tasks, %d DP rows instead of %d",
+                    r.groups, r.rows, tasks.size());
+                yield new Solution("BOUNDED", detail, r.chosen, r.totalTime, r.totalValue, null);
+            }
+            case MEET_IN_MIDDLE -> {
+                MeetInTheMiddle.MitmResult r = new MeetInTheMiddle().solve(tasks, capacity);
+                String detail = String.format("Subsets: %d enumerated (table: %d cells)",
+                    r.subsets, (long) (tasks.size() + 1) * TimeScale.columns(tasks, capacity));
+                yield new Solution("MEET_IN_MIDDLE", detail, r.chosen, r.totalTime, r.totalValue, null);
+            }
+            case BRANCH_AND_BOUND -> {
+                BranchAndBound.BnBResult r = new BranchAndBound().solve(tasks, capacity, bnbNodeBudget, bnbTimeBudgetMs);
+                String detail = r.complete
+                    ? String.format("Nodes: %d (search complete)", r.nodes)
+                    : String.format("Nodes: %d (budget exhausted), optimum <= %d, gap %d", r.nodes, r.upperBound, r.gap());
+                yield new Solution("BRANCH_AND_BOUND", detail, r.chosen, r.totalTime, r.totalValue, r.upperBound, null);
+            }
+            case TABLE -> {
+                dpSolver.setVectorKernel(dpMode == DPMode.VECTOR);
+                TaskTable columns = columnsOf(tasks);
+                if (tableStorage != TableStorage.HEAP) {
+                    boolean mapped = tableStorage == TableStorage.MAPPED_FILE;
+                    DPResult r = dpSolver.solveOffHeap(columns, capacity, dpMode == DPMode.PARALLEL, mapped, null);
+                    // Freed after rendering, so there is nothing left to sweep
+                    lastSweep = null;
+                    String detail = String.format("Table: %s %s, cells: %s",
+                        formatBytes(Dynamic.tableBytes(r.rows(), r.columns(), dpSolver.getCellWidth())),
+                        mapped ? "in a mapped file" : "off-heap", formatCells(dpSolver.getCellWidth()));
+                    yield new Solution(dpMode.name(), detail, r.chosen, r.totalTime, r.totalValue, r);
+                }
+                DPResult r = dpSolver.solveIncremental(columns, capacity, dpMode == DPMode.PARALLEL);
+                lastSweep = new CapacitySweep(tasks, r);
+                lastSweepVersion = columns.version();
+                String detail = String.format("Rows reused: %d/%d, cells: %s, column step: %d min, workspace: %s",
+                    dpSolver.getReusedRows(), tasks.size(), formatCells(dpSolver.getCellWidth()),
+                    r.ticksPerColumn * Task.TICK_MINUTES, formatBytes(workspace.retainedBytes()));
+                yield new Solution(dpMode.name(), detail, r.chosen, r.totalTime, r.totalValue, r);
+            }
+            case AUTO -> throw new IllegalStateException("AUTO is resolved before solving");
+        };
+    }
+
+    /**
+     * One DP pass up to maxCapacity; the result answers every smaller capacity
+     * (value curve and task set) without solving again.
+     * The sweep reads the shared workspace table, so its task sets are only
+     * available until the next execute() or sweep(); after that solutionAt()
+     * throws IllegalStateException.
+     */
+    public CapacitySweep sweep(ArrayList<Task> tasks, float maxCapacity) {
+        startRun(null, tasks);
+        return runSweep(tasks, maxCapacity);
+    }
+
+    // sweep() over a snapshot, tagged with its version (see getLastSweep(long))
+    public CapacitySweep sweep(TaskList.Snapshot snapshot, float maxCapacity) {
+        ArrayList<Task> tasks = snapshot.toArrayList();
+        startRun(snapshot, tasks);
+        return runSweep(tasks, maxCapacity);
+    }
+
+    private CapacitySweep runSweep(ArrayList<Task> tasks, float maxCapacity) {
+        dpSolver.setVectorKernel(dpMode == DPMode.VECTOR);
+        TaskTable columns = columnsOf(tasks);
+        DPResult r = dpSolver.solveIncremental(columns, maxCapacity, dpMode == DPMode.PARALLEL);
+        lastSweep = new CapacitySweep(tasks, r);
+        lastSweepVersion = columns.version();
+        return lastSweep;
+    }
+
+    /**
+     * The workspace's task columns for tasks, synced once per run: the exact
+     * solver and greedy read the same list, so the second call is free. The
+     * list can't change within a run (execute() is not thread-safe anyway).
+     * The run's own list syncs through its snapshot, which skips the re-read
+     * when the table already holds that version.
+     */
+    private TaskTable columnsOf(ArrayList<Task> tasks) {
+        if (tasks != syncedTasks) {
+            syncedColumns = runSnapshot != null && tasks == runTasks
+                ? workspace.taskTable(runSnapshot)
+                : workspace.taskTable(tasks);
+            syncedTasks = tasks;
+        }
+        return syncedColumns;
+    }
+
+    // Same validity as sweep()'s result; null once a later run has replaced its table
+    public CapacitySweep getLastSweep() {
+        return lastSweep != null && lastSweep.isCurrent() ? lastSweep : null;
+    }
+
+    // getLastSweep(), and only if it was solved for this TaskList version
+    public CapacitySweep getLastSweep(long version) {
+        if (lastSweep != null && lastSweepVersion != version) {
+            lastSweep = null;
+        }
+        return getLastSweep();
+    }
+
+    /**
+     * Frees the buffers kept for re-runs, e.g. after one unusually large plan.
+     * The next run starts from scratch (and the last sweep goes with the table).
+     */
+    public void releaseWorkspace() {
+        workspace.release();
+        startRun(null, null);
+        lastSweep = null;
+        lastResult = null;
+    }
+
+    // The cached result was solved under the old settings
+    private void settingsChanged() {
+        lastResult = null;
+    }
+
+    /**
+     * Smallest capacity (hours) whose optimum reaches targetValue, or -1 if
+     * the tasks can't reach it at any capacity.
+     */
+    public float minCapacityFor(ArrayList<Task> tasks, int targetValue) {
+        return new ValueDynamic().minCapacityFor(tasks, targetValue);
+    }
+
+    private String buildLogs(Solution dpResult, GreedyResult greedyResult,
                              double dpTimeMs, double greedyTimeMs) {
         StringBuilder sb = new StringBuilder(1024);
 
-        sb.append("=== DYNAMIC PROGRAMMING (OPTIMAL) ===\n");
-        sb.append(String.format(" Execution Time: %.3f ms\n", dpTimeMs));
-        sb.append(String.format(" Total Value: %d | Time Used: %sh\n\n",
+        sb.append(dpResult.upperBound > dpResult.totalValue
+            ? "=== DYNAMIC PROGRAMMING (APPROXIMATE) ===\n"
+            : "=== DYNAMIC PROGRAMMING (OPTIMAL) ===\n");
+        sb.append(String.format(" Execution Time: %.3f ms (%s)\n", dpTimeMs, dpResult.method));
+        sb.append(String.format(" Total Value: %d | Time Used: %sh\n",
             dpResult.totalValue, formatDuration(dpResult.totalTime)));
+        if (dpResult.detail != null) {
+            sb.append(' ').append(dpResult.detail).append('\n');
+        }
+        sb.append('\n');
         for (Task t : dpResult.chosen) {
             sb.append(String.format(" [] %s (%sh, v:%d)\n",
                 t.getName(), formatDuration(t.getDuration()), t.getProductivity()));
@@ -98,13 +551,57 @@ public class SchedulerService {
             sb.append(String.format(" DP found %d more value than Greedy\n",
                 dpResult.totalValue - greedyResult.totalValue));
         } else if (dpResult.totalValue == greedyResult.totalValue) {
-            sb.append(" Both algorithms found the same optimal value\n");
+            sb.append(dpResult.upperBound > dpResult.totalValue
+                ? " Both algorithms found the same value\n"
+                : " Both algorithms found the same optimal value\n");
+        } else {
+            sb.append(String.format(" Greedy found %d more value than DP\n",
+                greedyResult.totalValue - dpResult.totalValue));
         }
 
         return sb.toString();
     }
 
+    public DPMode getDpMode() { return dpMode; }
+    public void setDpMode(DPMode dpMode) { this.dpMode = dpMode; settingsChanged(); }
+    public Strategy getStrategy() { return strategy; }
+    public void setStrategy(Strategy strategy) { this.strategy = strategy; settingsChanged(); }
+    public TableStorage getTableStorage() { return tableStorage; }
+    public void setTableStorage(TableStorage tableStorage) { this.tableStorage = tableStorage; settingsChanged(); }
+    public double getFptasEpsilon() { return fptasEpsilon; }
+
+    public void setFptasEpsilon(double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1)) throw new IllegalArgumentException("Epsilon must be between 0 and 1");
+        this.fptasEpsilon = epsilon;
+        settingsChanged();
+    }
+
+    public boolean isReduceTasks() { return reduceTasks; }
+    public void setReduceTasks(boolean reduceTasks) { this.reduceTasks = reduceTasks; settingsChanged(); }
+    public long getBnbNodeBudget() { return bnbNodeBudget; }
+    public void setBnbNodeBudget(long bnbNodeBudget) { this.bnbNodeBudget = bnbNodeBudget; settingsChanged(); }
+    public long getBnbTimeBudgetMs() { return bnbTimeBudgetMs; }
+    public void setBnbTimeBudgetMs(long bnbTimeBudgetMs) { this.bnbTimeBudgetMs = bnbTimeBudgetMs; settingsChanged(); }
+    public long getAnytimeDeadlineMs() { return anytimeDeadlineMs; }
+    public void setAnytimeDeadlineMs(long anytimeDeadlineMs) { this.anytimeDeadlineMs = anytimeDeadlineMs; settingsChanged(); }
+    public boolean isLazyGreedy() { return lazyGreedy; }
+    public void setLazyGreedy(boolean lazyGreedy) { this.lazyGreedy = lazyGreedy; settingsChanged(); }
+
+    private String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    // e.g. "short (16-bit)"
+    private String formatCells(Dynamic.CellWidth width) {
+        return width.name().toLowerCase() + " (" + width.bytes * 8 + "-bit)";
+    }
+
+    // Whole hours without decimals; 5-minute steps come out as e.g. 1.08
     private String formatDuration(float d) {
-        return d == (long) d ? String.format("%d", (long) d) : String.valueOf(d);
+        if (d == (long) d) return String.format("%d", (long) d);
+        String s = String.format("%.2f", d);
+        return s.endsWith("0") ? s.substring(0, s.length() - 1) : s;
     }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package service;
 
+import algorithms.TimeScale;
+import io.NameDictionary;
 import io.TaskParser;
 import io.TaskParser.ParseResult;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import model.Task;
-import util.ArrayList;
+import model.TaskList;
 
 import java.io.File;
 import java.io.IOException;
@@ -14,11 +16,14 @@ import java.util.List;
 
 public class TaskService {
 
-    private final ArrayList<Task> allTasks;
+    private final TaskList allTasks;
     private final TaskParser parser;
     private float lastLoadedCapacity = 8.0f;
+    // Durations and capacity typed in must be whole multiples of this many
+    // minutes; loading a file that uses a finer step lowers it to match
+    private int granularityMinutes = Task.DEFAULT_GRANULARITY_MINUTES;
 
-    public TaskService(ArrayList<Task> allTasks) {
+    public TaskService(TaskList allTasks) {
         this.allTasks = allTasks;
         this.parser = new TaskParser();
     }
@@ -28,11 +33,20 @@ public class TaskService {
         public int count;
         public float capacity;
         public String error;
+        public NameDictionary.Stats names; // null on error
+        public int granularityMinutes;     // input step after the load
         
         public LoadResult(int count, float capacity, String error) {
+            this(count, capacity, error, null, 0);
+        }
+
+        public LoadResult(int count, float capacity, String error, NameDictionary.Stats names,
+                          int granularityMinutes) {
             this.count = count;
             this.capacity = capacity;
             this.error = error;
+            this.names = names;
+            this.granularityMinutes = granularityMinutes;
         }
     }
     
@@ -59,7 +73,8 @@ public class TaskService {
             ParseResult result = parser.parse(Path.of(file.toURI()));
             allTasks.addAll(result.tasks);
             lastLoadedCapacity = result.capacity;
-            return new LoadResult(allTasks.size(), result.capacity, null);
+            granularityMinutes = TimeScale.gcd(granularityMinutes, stepMinutes(result));
+            return new LoadResult(allTasks.size(), result.capacity, null, result.names, granularityMinutes);
         } catch (Exception e) {
             return new LoadResult(0, 0, e.getMessage());
         }
@@ -100,4 +115,22 @@ public class TaskService {
     public float getLastLoadedCapacity() {
         return lastLoadedCapacity;
     }
+
+    public int getGranularityMinutes() { return granularityMinutes; }
+
+    public void setGranularityMinutes(int minutes) {
+        if (minutes <= 0 || minutes % Task.TICK_MINUTES != 0) {
+            throw new IllegalArgumentException("Granularity must be a positive multiple of " + Task.TICK_MINUTES + " minutes");
+        }
+        this.granularityMinutes = minutes;
+    }
+
+    // Largest step (minutes) that all of the file's times are multiples of; 0 if all are zero
+    private static int stepMinutes(ParseResult result) {
+        int ticks = Math.abs(Task.toUnits(result.capacity));
+        for (Task t : result.tasks) {
+            ticks = TimeScale.gcd(ticks, Math.abs(t.getDurationUnits()));
+        }
+        return ticks * Task.TICK_MINUTES;
+    }
 }
\ No newline at end of file
@@ -9,7 +9,8 @@ import javafx.scene.input.*;
 import javafx.scene.layout.*;
 import javafx.scene.shape.Circle;
 import model.Task;
-import util.ArrayList;
+import model.TaskList;
+import service.SchedulerService;
 
 public class UIBuilder {
 
@@ -40,10 +41,66 @@ public class UIBuilder {
         exitItem.setOnAction(e -> controller.getPrimaryStage().close());
 
         fileMenu.getItems().addAll(loadItem, saveItem, new SeparatorMenuItem(), exitItem);
-        menuBar.getMenus().add(fileMenu);
+        menuBar.getMenus().addAll(fileMenu, createSolverMenu(), createTimeStepMenu());
         return menuBar;
     }
 
+    // Strategy and row fill of the next Run; Auto picks the solver per task list
+    private Menu createSolverMenu() {
+        SchedulerService scheduler = controller.getSchedulerService();
+        Menu solverMenu = new Menu("Solver");
+
+        ToggleGroup strategies = new ToggleGroup();
+        for (SchedulerService.Strategy strategy : SchedulerService.Strategy.values()) {
+            RadioMenuItem item = new RadioMenuItem(menuLabel(strategy.name()));
+            item.setToggleGroup(strategies);
+            item.setSelected(strategy == scheduler.getStrategy());
+            item.setOnAction(e -> scheduler.setStrategy(strategy));
+            solverMenu.getItems().add(item);
+        }
+        solverMenu.getItems().add(new SeparatorMenuItem());
+
+        ToggleGroup modes = new ToggleGroup();
+        for (SchedulerService.DPMode mode : SchedulerService.DPMode.values()) {
+            RadioMenuItem item = new RadioMenuItem("Table Fill: " + menuLabel(mode.name()));
+            item.setToggleGroup(modes);
+            item.setSelected(mode == scheduler.getDpMode());
+            item.setOnAction(e -> scheduler.setDpMode(mode));
+            solverMenu.getItems().add(item);
+        }
+        return solverMenu;
+    }
+
+    // Step that typed-in durations and the capacity must be multiples of.
+    // Loading a finer file lowers it, so the selection is re-read on opening.
+    private Menu createTimeStepMenu() {
+        Menu stepMenu = new Menu("Time Step");
+        ToggleGroup steps = new ToggleGroup();
+        for (int minutes : new int[] {5, 10, 15, 20, 30, 60}) {
+            RadioMenuItem item = new RadioMenuItem(minutes + " min");
+            item.setUserData(minutes);
+            item.setToggleGroup(steps);
+            item.setOnAction(e -> controller.setGranularityMinutes(minutes));
+            stepMenu.getItems().add(item);
+        }
+        stepMenu.setOnShowing(e -> {
+            for (Toggle toggle : steps.getToggles()) {
+                toggle.setSelected(toggle.getUserData().equals(controller.getGranularityMinutes()));
+            }
+        });
+        return stepMenu;
+    }
+
+    // MEET_IN_MIDDLE -> "Meet In Middle"
+    private static String menuLabel(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (String word : name.split("_")) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(word.charAt(0)).append(word.substring(1).toLowerCase());
+        }
+        return sb.toString();
+    }
+
     private HBox createToolbar() {
         HBox toolbar = new HBox(12);
         toolbar.getStyleClass().add("toolbar");
@@ -387,7 +444,7 @@ public class UIBuilder {
                     String name = db.getString();
                     Task source = findTask(name);
                     if (source != null) {
-                        ArrayList<Task> tasks = controller.getAllTasks();
+                        TaskList tasks = controller.getAllTasks();
                         tasks.remove(source);
                         tasks.add(isEmpty() ? tasks.size() : getIndex(), source);
                         controller.refreshList();
@@ -0,0 +1,19 @@
+package util;
+
+/**
+ * Stop signal shared between the UI thread and a background solver.
+ * A run stops when cancel() is called; solvers poll shouldStop() every few
+ * thousand steps. Time limits are the solvers' own (e.g. BranchAndBound's
+ * time budget).
+ */
+public class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    public void cancel() { cancelled = true; }
+
+    // Cancelled: stop working, and results of this run are no longer wanted
+    public boolean shouldStop() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,26 @@
+package util;
+
+/**
+ * Read access to a knapsack DP table, whatever memory it lives in.
+ * Row 0 is the empty prefix, row i covers the first i tasks; column w is
+ * the capacity in table steps (see Dynamic.DPResult.ticksPerColumn).
+ */
+public interface DPTable extends AutoCloseable {
+
+    int rows();
+
+    int columns();
+
+    // Best value using the first 'row' tasks within 'column' steps
+    long value(int row, int column);
+
+    // Whether task 'row' is part of that best value
+    boolean taken(int row, int column);
+
+    // False once the memory behind the table has been reused by a later solve
+    default boolean isCurrent() { return true; }
+
+    // Frees the table's memory; further reads are invalid. No-op for heap tables.
+    @Override
+    void close();
+}
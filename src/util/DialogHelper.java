@@ -43,7 +43,7 @@ public class DialogHelper {
                     if (name.isEmpty() || duration <= 0 || productivity <= 0) {
                         return null;
                     }
-                    if (duration % 0.5f != 0) {
+                    if (!Task.isMultipleOf(duration, controller.getGranularityMinutes())) {
                         return null;
                     }
                     return new Task(name, duration, productivity);
@@ -89,14 +89,13 @@ public class DialogHelper {
                     callback.accept(false);
                     return;
                 }
-                if (newDuration % 0.5f != 0) {
+                if (!Task.isMultipleOf(newDuration, controller.getGranularityMinutes())) {
                     callback.accept(false);
                     return;
                 }
 
-                task.setName(newName);
-                task.setDuration(newDuration);
-                task.setProductivity(newValue);
+                // Replaced rather than changed, so a solve running on a snapshot keeps the old values
+                controller.getAllTasks().replace(task, new Task(newName, newDuration, newValue));
                 callback.accept(true);
             } catch (NumberFormatException e) {
                 callback.accept(false);
@@ -4,13 +4,15 @@ import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.StackPane;
 
 public class TableRenderer {
 
-    public static Node renderDPTable(int[][] dp, boolean[][] take) {
-        int rows = dp.length;
-        int cols = dp[0].length;
-        int maxVal = dp[rows - 1][cols - 1];
+    // hoursPerColumn: capacity step between two columns (see Dynamic.DPResult.ticksPerColumn)
+    public static Node renderDPTable(DPTable table, float hoursPerColumn) {
+        int rows = table.rows();
+        int cols = table.columns();
+        long maxVal = table.value(rows - 1, cols - 1);
 
         GridPane grid = new GridPane();
         grid.setHgap(2);
@@ -18,8 +20,9 @@ public class TableRenderer {
 
         // Time headers
         for (int c = 0; c < cols; c++) {
-            double hours = c / 2.0;
-            String hStr = (hours % 1 == 0) ? String.format("%.0f", hours) : String.format("%.1f", hours);
+            double hours = c * (double) hoursPerColumn;
+            String hStr = (hours % 1 == 0) ? String.format("%.0f", hours)
+                : (hours * 2 % 1 == 0) ? String.format("%.1f", hours) : String.format("%.2f", hours);
 
             Label lbl = new Label(hStr);
             lbl.getStyleClass().add("dp-header");
@@ -36,7 +39,7 @@ public class TableRenderer {
             grid.add(rowHead, 0, r + 1);
 
             for (int c = 0; c < cols; c++) {
-                int val = dp[r][c];
+                long val = table.value(r, c);
                 Label cell = new Label(String.valueOf(val));
                 cell.getStyleClass().add("dp-cell");
 
@@ -49,7 +52,7 @@ public class TableRenderer {
                 }
 
                 // Highlight the changes only
-                if (r > 0 && c > 0 && dp[r][c] != dp[r - 1][c]) {
+                if (r > 0 && c > 0 && val != table.value(r - 1, c)) {
                     cell.setStyle("-fx-border-color: #22c55e; -fx-border-width: 2px;");
                 }
 
@@ -58,4 +61,14 @@ public class TableRenderer {
         }
         return grid;
     }
-}
\ No newline at end of file
+
+    public static Node renderPlaceholder(String message) {
+        Label placeholder = new Label(message);
+        placeholder.getStyleClass().add("placeholder-text");
+        placeholder.setAlignment(Pos.CENTER);
+
+        StackPane pane = new StackPane(placeholder);
+        pane.setPrefHeight(200);
+        return pane;
+    }
+}